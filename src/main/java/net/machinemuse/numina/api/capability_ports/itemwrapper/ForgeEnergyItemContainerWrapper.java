@@ -1,10 +1,12 @@
 package net.machinemuse.numina.api.capability_ports.itemwrapper;
 
 import net.machinemuse.numina.api.energy.adapater.ElectricAdapter;
+import net.machinemuse.numina.utils.MuseLogger;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.energy.EnergyStorage;
 import net.minecraftforge.energy.IEnergyStorage;
 import net.minecraftforge.items.IItemHandler;
+import org.apache.logging.log4j.Level;
 
 import javax.annotation.Nonnull;
 
@@ -30,20 +32,14 @@ public class ForgeEnergyItemContainerWrapper extends EnergyStorage implements IE
 
     @Override
     public int extractEnergy(int maxExtract, boolean simulate) {
-        System.out.println("extracting energy: " + maxExtract);
-
-
         if (itemHandler != null) {
-
-            System.out.println("extracting energy: " + maxExtract);
-
-
             ItemStack container2 = itemHandler.getStackInSlot(0);
             ElectricAdapter adapter = ElectricAdapter.wrap(container2);
 
             int drained = adapter != null ? adapter.extractEnergy(maxReceive, simulate) : 0;
 
-            System.out.println("drained: " + drained);
+            if (MuseLogger.isTracing(MuseLogger.Category.ENERGY, Level.TRACE))
+                MuseLogger.trace(MuseLogger.Category.ENERGY, Level.TRACE, "extracting energy: " + maxExtract + ", drained: " + drained);
             return drained;
 
 
@@ -2,12 +2,14 @@ package net.machinemuse.numina.api.capability_ports.itemwrapper;
 
 import net.machinemuse.numina.api.capability_ports.inventory.IModeChangingItemCapability;
 import net.machinemuse.numina.api.module.IRightClickModule;
+import net.machinemuse.numina.utils.MuseLogger;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.Constants;
+import org.apache.logging.log4j.Level;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -52,6 +54,7 @@ public class ModeChangingItemWrapper extends ModularItemWrapper implements IMode
         NBTTagCompound nbt = this.serializeNBT();
         nbt.setInteger(TAG_MODE, newMode);
         this.deserializeNBT(nbt);
+        markUnsynced();
     }
     @Override
     public void cycleMode(EntityPlayer player, int dMode) {
@@ -60,7 +63,7 @@ public class ModeChangingItemWrapper extends ModularItemWrapper implements IMode
             int newindex = clampMode(modes.indexOf(this.getActiveMode()) + dMode, modes.size());
             int newmode = modes.get(newindex);
             this.setActiveMode(newmode);
-            System.out.println("this is where the packet would normally update");
+            MuseLogger.trace(MuseLogger.Category.ITEMS, Level.DEBUG, "this is where the packet would normally update");
 
             // fixme
 //            PacketSender.sendToServer(new MusePacketModeChangeRequest(player, newmode, player.inventory.currentItem));
@@ -15,38 +15,32 @@ public class ModularItemWrapper extends ItemStackHandler implements IModularItem
     protected ItemStack container;
     private static final String TAG_MODULES = "modules";
     int slotCount;
+    // bumped by the module NBT write hooks, see markModulesChanged()
+    private static volatile int modulesGeneration = 0;
+    // the modules tag the stacks were last read from or written to, and the generation at that time. This wrapper
+    // always writes a new tag and NBT from disk or the network is new as well, changes made in place go through the
+    // write hooks, so the same instance in the same generation means nothing changed.
+    private NBTTagCompound syncedModules;
+    private int syncedGeneration;
 
     public ModularItemWrapper(@Nonnull ItemStack container, int slotCount, NBTTagCompound nbt) {
         super(slotCount);
         this.container = container;
         this.slotCount = slotCount;
-        if (nbt != null)
+        if (nbt != null) {
             deserializeNBT(nbt);
-    }
-
-    @Nonnull
-    @Override
-    public ItemStack insertItem(int slot, @Nonnull ItemStack stack, boolean simulate) {
-        System.out.println("trying to insert item");
-/*
- itemTag: {"Maximum Heat":900000,"Current Heat":0,item.powersuits.module.debugModule:{Active:1b},render:{}}
-
- */
-
-        if (stack.isEmpty())
-            System.out.println("stack is empty!!!");
-        else
-            System.out.println("stack is NOT empty!!!");
-
-        System.out.println("serialize: " + serializeNBT());
-
-        return super.insertItem(slot, stack, simulate);
+            setSynced(nbt);
+        }
     }
 
     public void updateFromNBT() {
         final NBTTagCompound nbt = MuseItemUtils.getMuseItemTag(container);
         if (nbt != null && nbt.hasKey(TAG_MODULES, Constants.NBT.TAG_COMPOUND)) {
-            deserializeNBT((NBTTagCompound) nbt.getTag(TAG_MODULES));
+            NBTTagCompound modules = (NBTTagCompound) nbt.getTag(TAG_MODULES);
+            if (modules == syncedModules && syncedGeneration == modulesGeneration)
+                return;
+            deserializeNBT(modules);
+            setSynced(modules);
 
             if (stacks.size() != slotCount) {
                 final List<ItemStack> oldStacks = new ArrayList<>(stacks);
@@ -79,9 +73,33 @@ public class ModularItemWrapper extends ItemStackHandler implements IModularItem
     @Override
     protected void onContentsChanged(final int slot) {
         super.onContentsChanged(slot);
-        NBTTagCompound nbt = MuseItemUtils.getMuseItemTag(container);
+        writeToContainer();
+    }
+
+    private void writeToContainer() {
+        NBTTagCompound modules = serializeNBT();
+        MuseItemUtils.getMuseItemTag(container).setTag(TAG_MODULES, modules);
+        setSynced(modules);
+    }
+
+    private void setSynced(NBTTagCompound modules) {
+        syncedModules = modules;
+        syncedGeneration = modulesGeneration;
+    }
+
+    /**
+     * Call after module NBT was changed in place (tweak values, online state), so every wrapper reads its container's
+     * modules again on the next {@link #updateFromNBT()}. The write helpers in MuseItemUtils and ModuleManager do this.
+     */
+    public static void markModulesChanged() {
+        modulesGeneration++;
+    }
 
-        System.out.println("nbt: " + nbt) ;
-        nbt.setTag(TAG_MODULES, serializeNBT());
+    /**
+     * Call when the stacks were changed without writing them to the container, so the next
+     * {@link #updateFromNBT()} reads the container's modules again.
+     */
+    protected void markUnsynced() {
+        syncedModules = null;
     }
 }
@@ -29,6 +29,7 @@ public class NuminaConstants {
     public static final String CONFIG_TIER_2_ENERGY_LVL = CONFIG_PREFIX + "tier2EnergyLevel";
     public static final String CONFIG_TIER_3_ENERGY_LVL = CONFIG_PREFIX + "tier3EnergyLevel";
     public static final String CONFIG_TIER_4_ENERGY_LVL = CONFIG_PREFIX + "tier4EnergyLevel";
+    public static final String CONFIG_PROPORTIONAL_ENERGY = CONFIG_PREFIX + "proportionalEnergyDistribution";
 
 
 }
@@ -1,6 +1,7 @@
 package net.machinemuse.numina.api.energy.adapater;
 
 import cofh.redstoneflux.api.IEnergyContainerItem;
+import com.google.common.collect.MapMaker;
 import ic2.api.item.IElectricItem;
 import net.darkhax.tesla.capability.TeslaCapabilities;
 import net.machinemuse.powersuits.common.ModCompatibility;
@@ -10,48 +11,76 @@ import net.minecraftforge.energy.CapabilityEnergy;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Ported to Java by lehjr on 11/4/16.
  */
 public abstract class ElectricAdapter {
+    // whether an item class implements the RF or IC2 item interface, resolved once per class
+    private static final Map<Class<? extends Item>, EnergyApi> apiByItemClass = new ConcurrentHashMap<>();
+    // adapters are reused for as long as something (like the player's SuitState) holds on to them
+    private static final Map<ItemStack, ElectricAdapter> adapters = new MapMaker().weakKeys().weakValues().makeMap();
+
+    private enum EnergyApi {
+        FORGE, TESLA, RF, IC2, NONE;
+
+        boolean matches(ItemStack itemStack) {
+            switch (this) {
+                case FORGE:
+                    return itemStack.hasCapability(CapabilityEnergy.ENERGY, null);
+                // TESLA (need all 3 in order to get power in and out)
+                case TESLA:
+                    return itemStack.hasCapability(TeslaCapabilities.CAPABILITY_HOLDER, null) &&
+                            itemStack.hasCapability(TeslaCapabilities.CAPABILITY_CONSUMER, null) &&
+                            itemStack.hasCapability(TeslaCapabilities.CAPABILITY_PRODUCER, null);
+                case RF:
+                    return ModCompatibility.isRFAPILoaded() && itemStack.getItem() instanceof IEnergyContainerItem;
+                case IC2:
+                    return ModCompatibility.isIndustrialCraftLoaded() && itemStack.getItem() instanceof IElectricItem;
+                default:
+                    return false;
+            }
+        }
+
+        static EnergyApi probe(ItemStack itemStack) {
+            // capabilities can differ between stacks of the same item, so they're checked on every stack
+            if (FORGE.matches(itemStack))
+                return FORGE;
+            if (TESLA.matches(itemStack))
+                return TESLA;
+            return apiByItemClass.computeIfAbsent(itemStack.getItem().getClass(),
+                    itemClass -> RF.matches(itemStack) ? RF : IC2.matches(itemStack) ? IC2 : NONE);
+        }
+    }
+
     @Nullable
     public static ElectricAdapter wrap(@Nonnull ItemStack itemStack) {
         if (itemStack == null || itemStack.isEmpty())
             return null;
-        Item i = itemStack.getItem();
-
-        System.out.println(itemStack.getTagCompound());
-
-        // Forge Energy
-        if (itemStack.hasCapability(CapabilityEnergy.ENERGY, null)) {
-            System.out.println("using forge energy");
-
-            return new ForgeEnergyAdapter(itemStack);
-
-            // TESLA (need all 3 in order to get power in and out)
-        } else if (itemStack.hasCapability(TeslaCapabilities.CAPABILITY_HOLDER, null) &&
-                itemStack.hasCapability(TeslaCapabilities.CAPABILITY_CONSUMER, null) &&
-                itemStack.hasCapability(TeslaCapabilities.CAPABILITY_PRODUCER, null)) {
-
-            System.out.println("using Tesla energy");
-            return new TeslaEnergyAdapter(itemStack);
-
-            // RF API
-        } else if (ModCompatibility.isRFAPILoaded() && i instanceof IEnergyContainerItem) {
-            System.out.println("using RF energy");
-            return new TEElectricAdapter(itemStack);
-
-            // Industrialcraft
-        } else if (ModCompatibility.isIndustrialCraftLoaded() && i instanceof IElectricItem) {
-            System.out.println("using Industrialcraft energy");
-
-            return new IC2ElectricAdapter(itemStack);
-        } else {
-            System.out.println("NO MATCHING POWER INTERFACE!!!");
-
-            return null;
+        ElectricAdapter adapter = adapters.get(itemStack);
+        if (adapter != null)
+            return adapter;
+
+        switch (EnergyApi.probe(itemStack)) {
+            case FORGE:
+                adapter = new ForgeEnergyAdapter(itemStack);
+                break;
+            case TESLA:
+                adapter = new TeslaEnergyAdapter(itemStack);
+                break;
+            case RF:
+                adapter = new TEElectricAdapter(itemStack);
+                break;
+            case IC2:
+                adapter = new IC2ElectricAdapter(itemStack);
+                break;
+            default:
+                return null;
         }
+        adapters.put(itemStack, adapter);
+        return adapter;
     }
 
     public abstract int getEnergyStored();
@@ -32,12 +32,13 @@ public class ForgeEnergyItemWrapper extends EnergyStorage implements IEnergyStor
 
     public void updateFromNBT() {
         final NBTTagCompound nbt = MuseItemUtils.getMuseItemTag(container);
-        NBTTagCompound nbtOut = new NBTTagCompound();
+        // same as deserializeNBT, without building an intermediate tag on every capability lookup
         if(nbt.hasKey(NuminaNBTConstants.CURRENT_ENERGY, Constants.NBT.TAG_INT)) {
-            nbtOut.setInteger(NuminaNBTConstants.CURRENT_ENERGY, nbt.getInteger(NuminaNBTConstants.CURRENT_ENERGY));
+            energy = nbt.getInteger(NuminaNBTConstants.CURRENT_ENERGY);
             if(nbt.hasKey(NuminaNBTConstants.MAXIMUM_ENERGY, Constants.NBT.TAG_INT))
-                nbtOut.setInteger(NuminaNBTConstants.MAXIMUM_ENERGY, nbt.getInteger(NuminaNBTConstants.MAXIMUM_ENERGY));
-            deserializeNBT(nbtOut);
+                capacity = nbt.getInteger(NuminaNBTConstants.MAXIMUM_ENERGY);
+            if (capacity > 0 && maxReceive == 0)
+                maxReceive = maxExtract = capacity;
         }
     }
 
@@ -14,12 +14,40 @@ public interface IModuleManager {
     @Nullable
     IModule getModule(String key);
 
+    /**
+     * Dense id assigned at registration, or -1 if no module is registered under that name.
+     */
+    int getModuleId(String moduleName);
+
+    /**
+     * Modules that declare a modifier for the given property, in registration order.
+     */
+    List<IModule> getPropertyModules(String propertyName);
+
     void addModule(IModule module);
 
+    /**
+     * Resolves a property name into a handle, creating it if no module declares the property (yet). Once the module
+     * registry is frozen no handles are created anymore, unknown names resolve to a shared handle whose values are
+     * always 0.
+     */
+    ModularProperty getProperty(String propertyName);
+
     double computeModularPropertyDouble(ItemStack stack, String propertyName);
 
+    double computeModularPropertyDouble(ItemStack stack, ModularProperty property);
+
     int computeModularPropertyInteger(ItemStack stack, String propertyName);
 
+    int computeModularPropertyInteger(ItemStack stack, ModularProperty property);
+
+    /**
+     * Computes several double properties of the same item at once, in the order given.
+     */
+    double[] computeModularPropertiesDouble(ItemStack stack, ModularProperty... properties);
+
+    double[] computeModularPropertiesDouble(ItemStack stack, String... propertyNames);
+
     List<IRightClickModule> getRightClickModules();
 
     List<IToggleableModule> getToggleableModules();
@@ -7,4 +7,20 @@ public interface IPlayerTickModule extends IModule {
     void onPlayerTickActive(EntityPlayer player, ItemStack item);
 
     void onPlayerTickInactive(EntityPlayer player, ItemStack item);
+
+    /**
+     * How often, in ticks, the module needs {@link #onPlayerTickActive} called. Modules with a period above 1 are
+     * called once per period, on a tick offset by player so that not every player's module runs on the same tick.
+     * The inactive callback still runs every tick.
+     */
+    default int getTickPeriod() {
+        return 1;
+    }
+
+    /**
+     * Whether {@link #onPlayerTickInactive} does anything. Modules that return false aren't called while inactive.
+     */
+    default boolean hasInactiveTick() {
+        return true;
+    }
 }
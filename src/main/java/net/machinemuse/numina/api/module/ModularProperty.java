@@ -0,0 +1,58 @@
+package net.machinemuse.numina.api.module;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resolved handle for a modular property name. Resolve once with {@link IModuleManager#getProperty(String)} and keep
+ * the handle around; lookups through a handle index straight into the per item property arrays without hashing the
+ * name.
+ *
+ * The modules declaring the property are collected while modules register and replaced by an immutable array once
+ * the module registry is frozen.
+ */
+public final class ModularProperty {
+    /**
+     * Handle for names no module declares, given out once the registry is frozen. It has no modules, so its values
+     * are always 0.
+     */
+    static final ModularProperty UNKNOWN = new ModularProperty("unknown", -1);
+
+    private final String name;
+    private final int id;
+    // modules declaring a modifier for this property, in registration order, only written before the freeze
+    private final List<IModule> modules = new ArrayList<>();
+    private volatile List<IModule> modulesView = Collections.unmodifiableList(modules);
+
+    ModularProperty(String name, int id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public List<IModule> getModules() {
+        return modulesView;
+    }
+
+    void addModule(IModule module) {
+        modules.add(module);
+    }
+
+    void freeze(IModule[] declaringModules) {
+        modulesView = Collections.unmodifiableList(Arrays.asList(declaringModules));
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,165 @@
+package net.machinemuse.numina.api.module;
+
+import com.google.common.collect.MapMaker;
+import net.machinemuse.numina.api.constants.NuminaModuleConstants;
+import net.machinemuse.powersuits.utils.MuseItemUtils;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derived module state for a single modular item: which modules are installed and online (as bitsets indexed by
+ * module id), which tick modules are active on it and the already folded modular property values. Property values are folded on first request from the
+ * modules that declare the property, in registration order (some modifiers round, so order matters).
+ *
+ * Entries are attached to the item's Muse tag (weak, identity keyed) and remember a fingerprint of the installed
+ * module tags they were built from, checked on every {@link #get(NBTTagCompound)}, so adding or removing a module or
+ * changing a module tag in place (by anyone) rebuilds the entry. Module tags are small (online flag plus tweak
+ * values), hashing them is far cheaper than folding the properties again. Changes outside the module tags, like the
+ * active mode, need an explicit {@link #invalidate(NBTTagCompound)}.
+ */
+public final class ModularPropertyCache {
+    private static final Map<NBTTagCompound, ModularPropertyCache> cache = new MapMaker().weakKeys().makeMap();
+    private static volatile int generation = 0;
+
+    private final int cacheGeneration;
+    private final int fingerprint;
+    private final BitSet installed = new BitSet();
+    private final BitSet online = new BitSet();
+    // folded values indexed by ModularProperty id, filled in on first request
+    private double[] doubleValues = new double[0];
+    private final BitSet doubleKnown = new BitSet();
+    private int[] intValues = new int[0];
+    private final BitSet intKnown = new BitSet();
+    // indices into ModuleManager#getPlayerTickModules of the tick modules active on this item, built on first request
+    private BitSet activeTickModules;
+
+    private ModularPropertyCache(NBTTagCompound itemTag, int fingerprint, int cacheGeneration) {
+        this.cacheGeneration = cacheGeneration;
+        this.fingerprint = fingerprint;
+        for (String key : itemTag.getKeySet()) {
+            int id = ModuleManager.getInstance().getModuleId(key);
+            if (id == -1)
+                continue;
+            installed.set(id);
+            NBTTagCompound moduleTag = itemTag.getCompoundTag(key);
+            if (!moduleTag.hasKey(NuminaModuleConstants.ONLINE) || moduleTag.getBoolean(NuminaModuleConstants.ONLINE))
+                online.set(id);
+        }
+    }
+
+    public boolean isInstalled(int moduleId) {
+        return moduleId >= 0 && installed.get(moduleId);
+    }
+
+    public boolean isOnline(int moduleId) {
+        return moduleId >= 0 && online.get(moduleId);
+    }
+
+    public double getDouble(@Nonnull ItemStack stack, ModularProperty property) {
+        int id = property.getId();
+        if (id < 0)
+            return 0;
+        if (!doubleKnown.get(id)) {
+            double propertyValue = 0;
+            NBTTagCompound itemTag = MuseItemUtils.getMuseItemTag(stack);
+            for (IModule module : property.getModules()) {
+                if (ModuleManager.getInstance().itemHasActiveModule(stack, module.getUnlocalizedName()))
+                    propertyValue = module.applyPropertyModifiersDouble(itemTag, property.getName(), propertyValue);
+            }
+            if (id >= doubleValues.length)
+                doubleValues = Arrays.copyOf(doubleValues, Math.max(id + 1, doubleValues.length * 2));
+            doubleValues[id] = propertyValue;
+            doubleKnown.set(id);
+        }
+        return doubleValues[id];
+    }
+
+    public int getInteger(@Nonnull ItemStack stack, ModularProperty property) {
+        int id = property.getId();
+        if (id < 0)
+            return 0;
+        if (!intKnown.get(id)) {
+            int propertyValue = 0;
+            NBTTagCompound itemTag = MuseItemUtils.getMuseItemTag(stack);
+            for (IModule module : property.getModules()) {
+                if (ModuleManager.getInstance().itemHasActiveModule(stack, module.getUnlocalizedName()))
+                    propertyValue = module.applyPropertyModifiersInt(itemTag, property.getName(), propertyValue);
+            }
+            if (id >= intValues.length)
+                intValues = Arrays.copyOf(intValues, Math.max(id + 1, intValues.length * 2));
+            intValues[id] = propertyValue;
+            intKnown.set(id);
+        }
+        return intValues[id];
+    }
+
+    /**
+     * Tick modules that are valid for this item and active on it, as indices into
+     * {@link ModuleManager#getPlayerTickModules()}. The returned set is shared, don't modify it.
+     */
+    public BitSet getActiveTickModules(@Nonnull ItemStack stack) {
+        if (activeTickModules == null) {
+            List<IPlayerTickModule> tickModules = ModuleManager.getInstance().getPlayerTickModules();
+            BitSet active = new BitSet(tickModules.size());
+            for (int i = 0; i < tickModules.size(); i++) {
+                IPlayerTickModule module = tickModules.get(i);
+                if (module.isValidForItem(stack) && ModuleManager.getInstance().itemHasActiveModule(stack, module.getUnlocalizedName()))
+                    active.set(i);
+            }
+            activeTickModules = active;
+        }
+        return activeTickModules;
+    }
+
+    /**
+     * Gets the cached module state for the item's Muse tag, building it if needed.
+     */
+    public static ModularPropertyCache get(@Nonnull NBTTagCompound itemTag) {
+        int currentGeneration = generation;
+        int currentFingerprint = fingerprint(itemTag);
+        ModularPropertyCache entry = cache.get(itemTag);
+        if (entry == null || entry.cacheGeneration != currentGeneration || entry.fingerprint != currentFingerprint) {
+            entry = new ModularPropertyCache(itemTag, currentFingerprint, currentGeneration);
+            cache.put(itemTag, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Order independent hash of the installed module tags.
+     */
+    private static int fingerprint(NBTTagCompound itemTag) {
+        int hash = 0;
+        for (String key : itemTag.getKeySet()) {
+            if (ModuleManager.getInstance().getModuleId(key) != -1)
+                hash += key.hashCode() ^ itemTag.getTag(key).hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Drops the cached state for one item. Only needed for changes the fingerprint doesn't see, like the active mode.
+     */
+    public static void invalidate(@Nonnull NBTTagCompound itemTag) {
+        cache.remove(itemTag);
+    }
+
+    public static void invalidate(@Nonnull ItemStack stack) {
+        if (!stack.isEmpty())
+            invalidate(MuseItemUtils.getMuseItemTag(stack));
+    }
+
+    /**
+     * Drops every cached entry. Needed when module properties change without the item NBT changing,
+     * like when the server pushes its property modifier config or allows/disallows a module.
+     */
+    public static void invalidateAll() {
+        generation++;
+    }
+}
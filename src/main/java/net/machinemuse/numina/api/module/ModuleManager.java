@@ -1,5 +1,6 @@
 package net.machinemuse.numina.api.module;
 
+import net.machinemuse.numina.api.capability_ports.itemwrapper.ModularItemWrapper;
 import net.machinemuse.numina.api.constants.NuminaModuleConstants;
 import net.machinemuse.numina.api.item.IMuseItem;
 import net.machinemuse.numina.item.IModeChangingItem;
@@ -10,12 +11,14 @@ import net.minecraft.nbt.NBTTagCompound;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class ModuleManager implements IModuleManager {
-    private static ModuleManager INSTANCE;
+    private static volatile ModuleManager INSTANCE;
     private ModuleManager() {}
     public static ModuleManager getInstance() {
         if (INSTANCE == null) {
@@ -28,31 +31,138 @@ public class ModuleManager implements IModuleManager {
 
     protected static final Map<String, List<ItemStack>> customInstallCosts = new HashMap<>();
     protected static final Map<String, IModule> moduleMap = new HashMap<>();
+    // dense module ids (index into moduleList), used for the per item installed/online bitsets
+    protected static final Map<String, Integer> moduleIds = new HashMap<>();
     protected static final List<IModule> moduleList = new ArrayList<>();
     protected static final List<IPlayerTickModule> playerTickModules = new ArrayList<>();
     protected static final List<IRightClickModule> rightClickModules = new ArrayList<>();
     protected static final List<IToggleableModule> toggleableModules = new ArrayList<>();
     protected static final List<IBlockBreakingModule> blockBreakingModules = new ArrayList<>();
+    // property name -> resolved handle, which also knows the modules declaring a modifier for it. Guarded by the
+    // class lock until the freeze
+    protected static final Map<String, ModularProperty> properties = new HashMap<>();
+    protected static int nextPropertyId = 0;
+    // set once by freeze(), after which the collections above are no longer read or written
+    private static volatile Registry frozen;
+
+    /**
+     * Immutable, array backed copy of the registry. Published once all modules are registered so that lookups
+     * from any thread (like packet handlers on the network thread) need no locking.
+     */
+    private static final class Registry {
+        final Map<String, IModule> moduleMap;
+        final Map<String, Integer> moduleIds;
+        final List<IModule> moduleList;
+        final List<IPlayerTickModule> playerTickModules;
+        final List<IRightClickModule> rightClickModules;
+        final List<IToggleableModule> toggleableModules;
+        final List<IBlockBreakingModule> blockBreakingModules;
+        final Map<String, List<ItemStack>> customInstallCosts;
+        final Map<String, ModularProperty> properties;
+
+        Registry() {
+            this.moduleMap = Collections.unmodifiableMap(new HashMap<>(ModuleManager.moduleMap));
+            this.moduleIds = Collections.unmodifiableMap(new HashMap<>(ModuleManager.moduleIds));
+            this.moduleList = freezeList(ModuleManager.moduleList.toArray(new IModule[0]));
+            this.playerTickModules = freezeList(ModuleManager.playerTickModules.toArray(new IPlayerTickModule[0]));
+            this.rightClickModules = freezeList(ModuleManager.rightClickModules.toArray(new IRightClickModule[0]));
+            this.toggleableModules = freezeList(ModuleManager.toggleableModules.toArray(new IToggleableModule[0]));
+            this.blockBreakingModules = freezeList(ModuleManager.blockBreakingModules.toArray(new IBlockBreakingModule[0]));
+            Map<String, List<ItemStack>> costs = new HashMap<>();
+            for (Map.Entry<String, List<ItemStack>> entry : ModuleManager.customInstallCosts.entrySet()) {
+                costs.put(entry.getKey(), freezeList(entry.getValue().toArray(new ItemStack[0])));
+            }
+            this.customInstallCosts = Collections.unmodifiableMap(costs);
+
+            // modules declaring each property, in registration order
+            Map<ModularProperty, List<IModule>> declaring = new HashMap<>();
+            for (IModule module : moduleList) {
+                for (String propertyName : module.getPropertyModifiers().keySet()) {
+                    declaring.computeIfAbsent(ModuleManager.properties.get(propertyName), property -> new ArrayList<>()).add(module);
+                }
+            }
+            for (ModularProperty property : ModuleManager.properties.values()) {
+                property.freeze(declaring.getOrDefault(property, Collections.emptyList()).toArray(new IModule[0]));
+            }
+            this.properties = Collections.unmodifiableMap(new HashMap<>(ModuleManager.properties));
+        }
+
+        private static <T> List<T> freezeList(T[] array) {
+            return Collections.unmodifiableList(Arrays.asList(array));
+        }
+    }
+
+    /**
+     * Publishes the registry as an immutable snapshot. Called once when loading completes, after every mod (addons
+     * included) had its postInit to register modules and custom install costs. Any registration after this throws.
+     */
+    public static void freeze() {
+        synchronized (ModuleManager.class) {
+            if (frozen != null)
+                throw new IllegalStateException("Module registry is already frozen");
+            frozen = new Registry();
+        }
+    }
+
+    public static boolean isFrozen() {
+        return frozen != null;
+    }
+
+    private static void checkNotFrozen(String what) {
+        if (frozen != null)
+            throw new IllegalStateException("Tried to register " + what + " after the module registry was frozen");
+    }
 
     @Override
     public List<IModule> getAllModules() {
-        return moduleList;
+        Registry registry = frozen;
+        return registry != null ? registry.moduleList : moduleList;
     }
 
     @Override
     public List<IPlayerTickModule> getPlayerTickModules() {
-        return playerTickModules;
+        Registry registry = frozen;
+        return registry != null ? registry.playerTickModules : playerTickModules;
     }
 
     @Nullable
     @Override
     public IModule getModule(String key) {
-        return moduleMap.get(key);
+        Registry registry = frozen;
+        return registry != null ? registry.moduleMap.get(key) : moduleMap.get(key);
+    }
+
+    @Override
+    public int getModuleId(String moduleName) {
+        Registry registry = frozen;
+        Integer id = registry != null ? registry.moduleIds.get(moduleName) : moduleIds.get(moduleName);
+        return id != null ? id : -1;
+    }
+
+    @Override
+    public List<IModule> getPropertyModules(String propertyName) {
+        return getProperty(propertyName).getModules();
+    }
+
+    @Override
+    public ModularProperty getProperty(String propertyName) {
+        Registry registry = frozen;
+        if (registry == null) {
+            synchronized (ModuleManager.class) {
+                registry = frozen;
+                if (registry == null)
+                    return properties.computeIfAbsent(propertyName, name -> new ModularProperty(name, nextPropertyId++));
+            }
+        }
+        ModularProperty property = registry.properties.get(propertyName);
+        return property != null ? property : ModularProperty.UNKNOWN;
     }
 
     @Override
     public void addModule(IModule module) {
+        checkNotFrozen("module " + module.getUnlocalizedName());
         moduleMap.put(module.getUnlocalizedName(), module);
+        moduleIds.put(module.getUnlocalizedName(), moduleList.size());
         moduleList.add(module);
         if (module instanceof IPlayerTickModule) {
             playerTickModules.add((IPlayerTickModule) module);
@@ -66,45 +176,73 @@ public class ModuleManager implements IModuleManager {
         if (module instanceof IBlockBreakingModule) {
             blockBreakingModules.add((IBlockBreakingModule) module);
         }
+        for (String propertyName : module.getPropertyModifiers().keySet()) {
+            getProperty(propertyName).addModule(module);
+        }
+        ModularPropertyCache.invalidateAll();
     }
 
     @Override
     public double computeModularPropertyDouble(ItemStack stack, String propertyName) {
-        double propertyValue = 0;
-        NBTTagCompound itemTag = MuseItemUtils.getMuseItemTag(stack);
-        for (IModule module : moduleList) {
-            if (itemHasActiveModule(stack, module.getUnlocalizedName())) {
-                propertyValue = module.applyPropertyModifiersDouble(itemTag, propertyName, propertyValue);
-            }
-        }
-        return propertyValue;
+        return computeModularPropertyDouble(stack, getProperty(propertyName));
+    }
+
+    @Override
+    public double computeModularPropertyDouble(ItemStack stack, ModularProperty property) {
+        if (stack.isEmpty() || !(stack.getItem() instanceof IMuseItem))
+            return 0;
+        return ModularPropertyCache.get(MuseItemUtils.getMuseItemTag(stack)).getDouble(stack, property);
     }
 
     @Override
     public int computeModularPropertyInteger(ItemStack stack, String propertyName) {
-        int propertyValue = 0;
-        NBTTagCompound itemTag = MuseItemUtils.getMuseItemTag(stack);
-        for (IModule module : moduleList) {
-            if (itemHasActiveModule(stack, module.getUnlocalizedName())) {
-                propertyValue = module.applyPropertyModifiersInt(itemTag, propertyName, propertyValue);
-            }
+        return computeModularPropertyInteger(stack, getProperty(propertyName));
+    }
+
+    @Override
+    public int computeModularPropertyInteger(ItemStack stack, ModularProperty property) {
+        if (stack.isEmpty() || !(stack.getItem() instanceof IMuseItem))
+            return 0;
+        return ModularPropertyCache.get(MuseItemUtils.getMuseItemTag(stack)).getInteger(stack, property);
+    }
+
+    @Override
+    public double[] computeModularPropertiesDouble(ItemStack stack, ModularProperty... properties) {
+        double[] values = new double[properties.length];
+        if (stack.isEmpty() || !(stack.getItem() instanceof IMuseItem))
+            return values;
+        ModularPropertyCache cache = ModularPropertyCache.get(MuseItemUtils.getMuseItemTag(stack));
+        for (int i = 0; i < properties.length; i++) {
+            values[i] = cache.getDouble(stack, properties[i]);
+        }
+        return values;
+    }
+
+    @Override
+    public double[] computeModularPropertiesDouble(ItemStack stack, String... propertyNames) {
+        ModularProperty[] resolved = new ModularProperty[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            resolved[i] = getProperty(propertyNames[i]);
         }
-        return propertyValue;
+        return computeModularPropertiesDouble(stack, resolved);
     }
 
     @Override
     public List<IRightClickModule> getRightClickModules() {
-        return rightClickModules;
+        Registry registry = frozen;
+        return registry != null ? registry.rightClickModules : rightClickModules;
     }
 
     @Override
     public List<IToggleableModule> getToggleableModules() {
-        return toggleableModules;
+        Registry registry = frozen;
+        return registry != null ? registry.toggleableModules : toggleableModules;
     }
 
     @Override
     public List<IBlockBreakingModule> getBlockBreakingModules() {
-        return blockBreakingModules;
+        Registry registry = frozen;
+        return registry != null ? registry.blockBreakingModules : blockBreakingModules;
     }
 
     @Override
@@ -120,17 +258,19 @@ public class ModuleManager implements IModuleManager {
 
     @Override
     public boolean tagHasModule(NBTTagCompound tag, String moduleName) {
-        return tag.hasKey(moduleName);
+        int id = getModuleId(moduleName);
+        if (id == -1)
+            return tag.hasKey(moduleName);
+        return ModularPropertyCache.get(tag).isInstalled(id);
     }
 
     @Override
     public boolean isModuleOnline(NBTTagCompound itemTag, String moduleName) {
-        if (tagHasModule(itemTag, moduleName) && !itemTag.getCompoundTag(moduleName).hasKey(NuminaModuleConstants.ONLINE)) {
-            return true;
-        } else if (tagHasModule(itemTag, moduleName) && itemTag.getCompoundTag(moduleName).getBoolean(NuminaModuleConstants.ONLINE)) {
-            return true;
-        }
-        return false;
+        int id = getModuleId(moduleName);
+        if (id == -1)
+            return itemTag.hasKey(moduleName) && (!itemTag.getCompoundTag(moduleName).hasKey(NuminaModuleConstants.ONLINE)
+                    || itemTag.getCompoundTag(moduleName).getBoolean(NuminaModuleConstants.ONLINE));
+        return ModularPropertyCache.get(itemTag).isOnline(id);
     }
 
     @Override
@@ -138,6 +278,8 @@ public class ModuleManager implements IModuleManager {
         if (tagHasModule(itemTag, name)) {
             NBTTagCompound moduleTag = itemTag.getCompoundTag(name);
             moduleTag.setBoolean(NuminaModuleConstants.ONLINE, toggleval);
+            ModularPropertyCache.invalidate(itemTag);
+            ModularItemWrapper.markModulesChanged();
         }
     }
 
@@ -149,6 +291,8 @@ public class ModuleManager implements IModuleManager {
     @Override
     public void tagAddModule(NBTTagCompound tag, IModule module) {
         tag.setTag(module.getUnlocalizedName(), module.getNewTag());
+        ModularPropertyCache.invalidate(tag);
+        ModularItemWrapper.markModulesChanged();
     }
 
     @Override
@@ -160,6 +304,8 @@ public class ModuleManager implements IModuleManager {
     public boolean removeModule(NBTTagCompound tag, String moduleName) {
         if (tag.hasKey(moduleName)) {
             tag.removeTag(moduleName);
+            ModularPropertyCache.invalidate(tag);
+            ModularItemWrapper.markModulesChanged();
             return true;
         } else {
             return false;
@@ -214,16 +360,19 @@ public class ModuleManager implements IModuleManager {
 
     @Override
     public boolean hasCustomInstallCost(String dataName) {
-        return customInstallCosts.containsKey(dataName);
+        Registry registry = frozen;
+        return registry != null ? registry.customInstallCosts.containsKey(dataName) : customInstallCosts.containsKey(dataName);
     }
 
     @Override
     public List<ItemStack> getCustomInstallCost(String dataName) {
-        return customInstallCosts.get(dataName);
+        Registry registry = frozen;
+        return registry != null ? registry.customInstallCosts.get(dataName) : customInstallCosts.get(dataName);
     }
 
     @Override
     public void addCustomInstallCost(String moduleName, ItemStack stack) {
+        checkNotFrozen("install cost for " + moduleName);
         if(customInstallCosts.containsKey(moduleName)) {
             customInstallCosts.get(moduleName).add(stack);
         } else {
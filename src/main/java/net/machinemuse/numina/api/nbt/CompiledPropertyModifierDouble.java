@@ -0,0 +1,68 @@
+package net.machinemuse.numina.api.nbt;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chain of flat and linear additive double modifiers reduced to
+ * value + constant + sum(coefficient[i] * tradeoff[i]), with one coefficient per distinct tradeoff.
+ *
+ * Anything else (rounding modifiers, addon modifiers) can't be reduced and keeps using the modifier chain.
+ */
+public final class CompiledPropertyModifierDouble implements IPropertyModifierDoublePrimitive {
+    private final double constant;
+    private final String[] tradeoffNames;
+    private final double[] coefficients;
+
+    private CompiledPropertyModifierDouble(double constant, String[] tradeoffNames, double[] coefficients) {
+        this.constant = constant;
+        this.tradeoffNames = tradeoffNames;
+        this.coefficients = coefficients;
+    }
+
+    @Override
+    public double applyPrimitiveModifier(NBTTagCompound moduleTag, double value) {
+        value += constant;
+        for (int i = 0; i < tradeoffNames.length; i++) {
+            value += coefficients[i] * moduleTag.getDouble(tradeoffNames[i]);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the compiled form of the given modifiers, or null if any of them isn't a plain linear modifier.
+     */
+    @Nullable
+    public static CompiledPropertyModifierDouble compile(IPropertyModifierDoublePrimitive[] modifiers) {
+        double constant = 0;
+        List<String> tradeoffNames = new ArrayList<>();
+        List<Double> coefficients = new ArrayList<>();
+
+        for (IPropertyModifierDoublePrimitive modifier : modifiers) {
+            // exact class checks, subclasses like PropertyModifierIntLinearAdditive round and aren't linear
+            if (modifier.getClass() == PropertyModifierFlatAdditiveDouble.class) {
+                constant += ((PropertyModifierFlatAdditiveDouble) modifier).valueAdded;
+            } else if (modifier.getClass() == PropertyModifierLinearAdditiveDouble.class) {
+                PropertyModifierLinearAdditiveDouble linear = (PropertyModifierLinearAdditiveDouble) modifier;
+                int index = tradeoffNames.indexOf(linear.getTradeoffName());
+                if (index == -1) {
+                    tradeoffNames.add(linear.getTradeoffName());
+                    coefficients.add(linear.multiplier);
+                } else {
+                    coefficients.set(index, coefficients.get(index) + linear.multiplier);
+                }
+            } else {
+                return null;
+            }
+        }
+
+        double[] coefficientArray = new double[coefficients.size()];
+        for (int i = 0; i < coefficientArray.length; i++) {
+            coefficientArray[i] = coefficients.get(i);
+        }
+        return new CompiledPropertyModifierDouble(constant, tradeoffNames.toArray(new String[0]), coefficientArray);
+    }
+}
@@ -0,0 +1,11 @@
+package net.machinemuse.numina.api.nbt;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * Unboxed version of {@link IPropertyModifierDouble}, used when folding property values so that no Double is
+ * allocated per modifier.
+ */
+public interface IPropertyModifierDoublePrimitive {
+    double applyPrimitiveModifier(NBTTagCompound moduleTag, double value);
+}
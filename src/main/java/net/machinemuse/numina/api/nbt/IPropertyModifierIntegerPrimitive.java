@@ -0,0 +1,11 @@
+package net.machinemuse.numina.api.nbt;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * Unboxed version of {@link IPropertyModifierInteger}, used when folding property values so that no Integer is
+ * allocated per modifier.
+ */
+public interface IPropertyModifierIntegerPrimitive {
+    int applyPrimitiveModifier(NBTTagCompound moduleTag, int value);
+}
@@ -0,0 +1,24 @@
+package net.machinemuse.numina.api.nbt;
+
+import net.minecraft.nbt.NBTTagCompound;
+
+/**
+ * Wraps modifiers that only implement the boxed interfaces (addons, mostly) so they can sit in the same primitive
+ * modifier arrays as the built in ones. These still box, the built in modifiers don't.
+ */
+public final class PropertyModifierAdapters {
+    private PropertyModifierAdapters() {
+    }
+
+    public static IPropertyModifierDoublePrimitive toPrimitive(IPropertyModifierDouble modifier) {
+        if (modifier instanceof IPropertyModifierDoublePrimitive)
+            return (IPropertyModifierDoublePrimitive) modifier;
+        return (moduleTag, value) -> modifier.applyModifier(moduleTag, value);
+    }
+
+    public static IPropertyModifierIntegerPrimitive toPrimitive(IPropertyModifierInteger modifier) {
+        if (modifier instanceof IPropertyModifierIntegerPrimitive)
+            return (IPropertyModifierIntegerPrimitive) modifier;
+        return (moduleTag, value) -> modifier.applyModifier(moduleTag, value);
+    }
+}
@@ -2,7 +2,7 @@ package net.machinemuse.numina.api.nbt;
 
 import net.minecraft.nbt.NBTTagCompound;
 
-public class PropertyModifierFlatAdditiveDouble implements IPropertyModifierDouble {
+public class PropertyModifierFlatAdditiveDouble implements IPropertyModifierDouble, IPropertyModifierDoublePrimitive {
     public double valueAdded;
 
     public PropertyModifierFlatAdditiveDouble(double valueAdded) {
@@ -11,6 +11,11 @@ public class PropertyModifierFlatAdditiveDouble implements IPropertyModifierDoub
 
     @Override
     public Double applyModifier(NBTTagCompound moduleTag, Double value) {
+        return applyPrimitiveModifier(moduleTag, value);
+    }
+
+    @Override
+    public double applyPrimitiveModifier(NBTTagCompound moduleTag, double value) {
         return value + this.valueAdded;
     }
 }
\ No newline at end of file
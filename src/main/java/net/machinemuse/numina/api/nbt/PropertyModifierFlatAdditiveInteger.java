@@ -2,7 +2,7 @@ package net.machinemuse.numina.api.nbt;
 
 import net.minecraft.nbt.NBTTagCompound;
 
-public class PropertyModifierFlatAdditiveInteger implements IPropertyModifierInteger {
+public class PropertyModifierFlatAdditiveInteger implements IPropertyModifierInteger, IPropertyModifierIntegerPrimitive {
     public int valueAdded;
 
     public PropertyModifierFlatAdditiveInteger(int valueAdded) {
@@ -11,6 +11,11 @@ public class PropertyModifierFlatAdditiveInteger implements IPropertyModifierInt
 
     @Override
     public Integer applyModifier(NBTTagCompound moduleTag, Integer value) {
+        return applyPrimitiveModifier(moduleTag, value);
+    }
+
+    @Override
+    public int applyPrimitiveModifier(NBTTagCompound moduleTag, int value) {
         return value + this.valueAdded;
     }
 }
\ No newline at end of file
@@ -15,9 +15,9 @@ public class PropertyModifierIntLinearAdditive extends PropertyModifierLinearAdd
     }
 
     @Override
-    public Double applyModifier(NBTTagCompound moduleTag, Double value) {
+    public double applyPrimitiveModifier(NBTTagCompound moduleTag, double value) {
         long result = (long) (value + multiplier * MuseItemUtils.getDoubleOrZero(moduleTag, tradeoffName));
-        return Double.valueOf(roundWithOffset(result, roundTo, offset));
+        return roundWithOffset(result, roundTo, offset);
     }
 
     public long roundWithOffset(double input, int roundTo, int offset) {
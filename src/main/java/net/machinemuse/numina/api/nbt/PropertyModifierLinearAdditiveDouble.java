@@ -3,7 +3,7 @@ package net.machinemuse.numina.api.nbt;
 import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.minecraft.nbt.NBTTagCompound;
 
-public class PropertyModifierLinearAdditiveDouble implements IPropertyModifierDouble {
+public class PropertyModifierLinearAdditiveDouble implements IPropertyModifierDouble, IPropertyModifierDoublePrimitive {
     public double multiplier;
     public final String tradeoffName;
 
@@ -14,6 +14,11 @@ public class PropertyModifierLinearAdditiveDouble implements IPropertyModifierDo
 
     @Override
     public Double applyModifier(NBTTagCompound moduleTag, Double value) {
+        return applyPrimitiveModifier(moduleTag, value);
+    }
+
+    @Override
+    public double applyPrimitiveModifier(NBTTagCompound moduleTag, double value) {
         return value + multiplier * MuseItemUtils.getDoubleOrZero(moduleTag, tradeoffName);
     }
 
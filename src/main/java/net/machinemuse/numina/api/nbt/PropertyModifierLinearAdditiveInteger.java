@@ -3,7 +3,7 @@ package net.machinemuse.numina.api.nbt;
 import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.minecraft.nbt.NBTTagCompound;
 
-public class PropertyModifierLinearAdditiveInteger implements IPropertyModifierInteger {
+public class PropertyModifierLinearAdditiveInteger implements IPropertyModifierInteger, IPropertyModifierIntegerPrimitive {
     public int multiplier;
     public final String tradeoffName;
 
@@ -14,6 +14,11 @@ public class PropertyModifierLinearAdditiveInteger implements IPropertyModifierI
 
     @Override
     public Integer applyModifier(NBTTagCompound moduleTag, Integer value) {
+        return applyPrimitiveModifier(moduleTag, value);
+    }
+
+    @Override
+    public int applyPrimitiveModifier(NBTTagCompound moduleTag, int value) {
         return value + multiplier * MuseItemUtils.getIntOrZero(moduleTag, tradeoffName);
     }
 
@@ -0,0 +1,49 @@
+package net.machinemuse.numina.capabilities;
+
+import net.machinemuse.numina.player.SuitState;
+import net.minecraft.nbt.NBTBase;
+import net.minecraft.util.EnumFacing;
+import net.minecraftforge.common.capabilities.Capability;
+import net.minecraftforge.common.capabilities.CapabilityInject;
+import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.common.capabilities.ICapabilityProvider;
+
+import javax.annotation.Nullable;
+
+/**
+ * Per player cache of the equipped suit. Derived from the player's equipment, so it's never saved.
+ */
+public class CapabilitySuitState {
+    @CapabilityInject(SuitState.class)
+    public static Capability<SuitState> SUIT_STATE = null;
+
+    public static void register() {
+        CapabilityManager.INSTANCE.register(SuitState.class, new Capability.IStorage<SuitState>() {
+                    @Nullable
+                    @Override
+                    public NBTBase writeNBT(Capability<SuitState> capability, SuitState instance, EnumFacing side) {
+                        return null;
+                    }
+
+                    @Override
+                    public void readNBT(Capability<SuitState> capability, SuitState instance, EnumFacing side, NBTBase nbt) {
+                    }
+                },
+                SuitState::new);
+    }
+
+    public static final class Provider implements ICapabilityProvider {
+        private final SuitState suitState = new SuitState();
+
+        @Override
+        public boolean hasCapability(Capability<?> capability, @Nullable EnumFacing facing) {
+            return capability == SUIT_STATE;
+        }
+
+        @Nullable
+        @Override
+        public <T> T getCapability(Capability<T> capability, @Nullable EnumFacing facing) {
+            return capability == SUIT_STATE ? SUIT_STATE.cast(suitState) : null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.machinemuse.numina.common.proxy.CommonProxy;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLServerStartedEvent;
@@ -57,6 +58,11 @@ public class Numina {
 //        JSONRecipeList.loadRecipesFromDir(Numina.getInstance().configDir.toString() + "/machinemuse/recipes/");
     }
 
+    @Mod.EventHandler
+    private void loadComplete(FMLLoadCompleteEvent event) {
+        proxy.loadComplete(event);
+    }
+
     @Mod.EventHandler
     private void serverstart(FMLServerStartedEvent event) {
 
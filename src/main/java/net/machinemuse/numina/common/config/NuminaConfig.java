@@ -17,6 +17,10 @@ public class NuminaConfig {
         return NuminaSettings.fovFixDefaultState;
     }
 
+    public static boolean useProportionalEnergyDistribution() {
+        return NuminaSettings.proportionalEnergyDistribution;
+    }
+
 
 
 
@@ -85,6 +85,10 @@ public class NuminaSettings {
     @Config.RangeInt(min = 0)
     public static int maxTier4 = (int) (1 * Math.pow(10, 8));
 
+    @Config.LangKey(CONFIG_PROPORTIONAL_ENERGY)
+    @Config.Comment("Drain and charge all equipped items in proportion to their energy (or free space) instead of one after the other")
+    public static boolean proportionalEnergyDistribution = false;
+
     private static NuminaServerSettings serverSettings;
     public static void setServerSettings(@Nullable final NuminaServerSettings serverSettings) {
         NuminaSettings.serverSettings = serverSettings;
@@ -1,11 +1,16 @@
 package net.machinemuse.numina.common.proxy;
 
+import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.capabilities.CapabilityHeat;
+import net.machinemuse.numina.capabilities.CapabilitySuitState;
 import net.machinemuse.numina.common.Numina;
 import net.machinemuse.numina.event.NuminaPlayerTracker;
+import net.machinemuse.numina.event.PacketTickHandler;
+import net.machinemuse.numina.event.SuitStateEventHandler;
 import net.machinemuse.numina.network.NuminaPackets;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLLoadCompleteEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 
@@ -20,6 +25,7 @@ import java.io.File;
 public class CommonProxy {
     public void preInit(FMLPreInitializationEvent event) {
         CapabilityHeat.register();
+        CapabilitySuitState.register();
         Numina.getInstance().configDir = event.getModConfigurationDirectory();
 
 //        NuminaConfig.init(event);
@@ -32,9 +38,16 @@ public class CommonProxy {
     public void init(FMLInitializationEvent event) {
         NuminaPackets.init();
         MinecraftForge.EVENT_BUS.register(new NuminaPlayerTracker());
+        MinecraftForge.EVENT_BUS.register(new SuitStateEventHandler());
+        MinecraftForge.EVENT_BUS.register(new PacketTickHandler());
     }
 
     public void postInit(FMLPostInitializationEvent event) {
 
     }
+
+    public void loadComplete(FMLLoadCompleteEvent event) {
+        // addons may still register modules and install costs in their own postInit
+        ModuleManager.freeze();
+    }
 }
@@ -0,0 +1,36 @@
+package net.machinemuse.numina.event;
+
+import net.machinemuse.numina.network.MusePacketHandler;
+import net.machinemuse.numina.network.PacketSender;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+import net.minecraftforge.fml.relauncher.Side;
+
+/**
+ * Handles the packets received since the last tick at the start of each tick, and sends the packets queued in
+ * {@link PacketSender} at the end. Packets still queued for the server are dropped when the client disconnects.
+ */
+public final class PacketTickHandler {
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.START)
+            MusePacketHandler.dispatchReceived(Side.SERVER);
+        else
+            PacketSender.flushQueued(Side.SERVER);
+    }
+
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase == TickEvent.Phase.START)
+            MusePacketHandler.dispatchReceived(Side.CLIENT);
+        else
+            PacketSender.flushQueued(Side.CLIENT);
+    }
+
+    @SubscribeEvent
+    public void onClientDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent event) {
+        // whatever is still queued was meant for the server we just left
+        PacketSender.clearQueuedToServer();
+    }
+}
@@ -0,0 +1,33 @@
+package net.machinemuse.numina.event;
+
+import net.machinemuse.numina.api.constants.NuminaConstants;
+import net.machinemuse.numina.capabilities.CapabilitySuitState;
+import net.machinemuse.numina.player.SuitState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.living.LivingEquipmentChangeEvent;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Attaches the {@link SuitState} to players and keeps it in step with their equipment.
+ */
+public final class SuitStateEventHandler {
+    private static final ResourceLocation SUIT_STATE = new ResourceLocation(NuminaConstants.MODID, "suit_state");
+
+    @SubscribeEvent
+    public void onAttachCapabilities(AttachCapabilitiesEvent<Entity> event) {
+        if (event.getObject() instanceof EntityPlayer)
+            event.addCapability(SUIT_STATE, new CapabilitySuitState.Provider());
+    }
+
+    @SubscribeEvent
+    public void onEquipmentChange(LivingEquipmentChangeEvent event) {
+        if (event.getEntityLiving() instanceof EntityPlayer) {
+            SuitState state = event.getEntityLiving().getCapability(CapabilitySuitState.SUIT_STATE, null);
+            if (state != null)
+                state.onEquipmentChange(event.getSlot(), event.getTo());
+        }
+    }
+}
@@ -92,6 +92,33 @@ public class MusePackager {
         }
     }
 
+    public int readVarInt(DataInputStream datain) {
+        try {
+            return RichInputStream.readVarInt(datain);
+        } catch (IOException exception) {
+            MuseLogger.logException("PROBLEM READING DATA FROM PACKET D:", exception);
+            return Integer.parseInt(null);
+        }
+    }
+
+    public long readVarLong(DataInputStream datain) {
+        try {
+            return RichInputStream.readVarLong(datain);
+        } catch (IOException exception) {
+            MuseLogger.logException("PROBLEM READING DATA FROM PACKET D:", exception);
+            return Long.parseLong(null);
+        }
+    }
+
+    public int readSignedVarInt(DataInputStream datain) {
+        try {
+            return RichInputStream.readSignedVarInt(datain);
+        } catch (IOException exception) {
+            MuseLogger.logException("PROBLEM READING DATA FROM PACKET D:", exception);
+            return Integer.parseInt(null);
+        }
+    }
+
     /* RichInputStream ---------------------------------------------------------------------------- */
     public int[] readIntArray(DataInputStream datain) {
         return RichInputStream.toRichStream(datain).readIntArray();
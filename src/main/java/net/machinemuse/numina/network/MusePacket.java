@@ -1,8 +1,11 @@
 package net.machinemuse.numina.network;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
-import net.jpountz.lz4.LZ4BlockOutputStream;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
 import net.machinemuse.numina.utils.MuseLogger;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -14,7 +17,6 @@ import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.HashMap;
@@ -28,35 +30,92 @@ import java.util.Map;
  */
 public abstract class MusePacket
 {
-    private PacketBuffer packetBuffer;
-    private final DataOutputStream dataout;
+    private static final int INITIAL_CAPACITY = 256;
+    // scratch buffers bigger than this go back to the pool instead of being kept by the thread
+    private static final int MAX_KEPT_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<PacketBuffer> scratch = new ThreadLocal<>();
 
-    public MusePacket() {
-        this.packetBuffer = new PacketBuffer(Unpooled.buffer());
-        this.dataout = new DataOutputStream(new ByteBufOutputStream(this.packetBuffer));
-    }
+    // how an NBT compound is stored, the header byte in front of it
+    static final byte NBT_NULL = 0;
+    static final byte NBT_RAW = 1;
+    static final byte NBT_LZ4 = 2;
+    // smaller tags are sent raw, compressing them saves next to nothing
+    private static final int NBT_COMPRESSION_THRESHOLD = 256;
+    private static final ThreadLocal<NBTCompression> nbtCompression = ThreadLocal.withInitial(NBTCompression::new);
+
+    // only set while the packet is being encoded
+    private PacketBuffer packetBuffer;
+    private DataOutputStream dataout;
 
     public abstract MusePackager packager();
 
     public abstract void write();
 
+    /**
+     * The buffer the packet is encoded into, only valid during {@link #write()}.
+     */
     public PacketBuffer packetBuffer() {
         return this.packetBuffer;
     }
 
+    /**
+     * Stream view of {@link #packetBuffer()} for code that writes to streams. Only valid during {@link #write()}.
+     */
     public DataOutputStream dataout() {
+        if (this.dataout == null)
+            this.dataout = new DataOutputStream(new ByteBufOutputStream(this.packetBuffer));
         return this.dataout;
     }
 
     /**
      * Gets the MC packet associated with this MusePacket
      *
+     * The packet is encoded into a pooled buffer the encoding thread keeps, the proxy packet gets a right sized copy.
+     * FML hands the payload to the network manager, which may send it later and to several players, so the payload
+     * itself can't be pooled: there's no point after which it could safely be released.
+     *
      * @return Packet250CustomPayload
      */
     public FMLProxyPacket getFMLProxyPacket() throws IOException {
-        this.dataout.writeInt((Integer) MusePacketHandler.packagers.inverse().get(this.packager()));
-        this.write();
-        return new FMLProxyPacket(this.packetBuffer, MusePacketHandler.networkChannelName);
+        PacketBuffer buffer = acquireScratch();
+        try {
+            writeTo(buffer);
+            return new FMLProxyPacket(new PacketBuffer(Unpooled.copiedBuffer(buffer)), MusePacketHandler.networkChannelName);
+        } finally {
+            releaseScratch(buffer);
+        }
+    }
+
+    /**
+     * Writes the packet id and the packet to the buffer.
+     */
+    void writeTo(PacketBuffer buffer) {
+        try {
+            this.packetBuffer = buffer;
+            buffer.writeVarInt(MusePacketHandler.packagers.inverse().get(this.packager()));
+            this.write();
+        } finally {
+            this.packetBuffer = null;
+            this.dataout = null;
+        }
+    }
+
+    private static PacketBuffer acquireScratch() {
+        PacketBuffer buffer = scratch.get();
+        if (buffer == null)
+            return new PacketBuffer(PooledByteBufAllocator.DEFAULT.heapBuffer(INITIAL_CAPACITY));
+        // taken out while in use, a packet encoded while encoding another one gets its own buffer
+        scratch.set(null);
+        return buffer;
+    }
+
+    private static void releaseScratch(PacketBuffer buffer) {
+        if (scratch.get() == null && buffer.capacity() <= MAX_KEPT_CAPACITY) {
+            buffer.clear();
+            scratch.set(buffer);
+        } else {
+            buffer.release();
+        }
     }
 
     public MusePacket getPacket131() {
@@ -76,110 +135,171 @@ public abstract class MusePacket
     }
 
     public void writeInt(int i) {
-        try {
-            this.dataout.writeInt(i);
-        } catch (IOException exception) {
-            MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
-        }
+        this.packetBuffer.writeInt(i);
+    }
+
+    /**
+     * Writes a non-negative int (ids, lengths, counts) in 1 to 5 bytes, small values take one.
+     */
+    public void writeVarInt(int i) {
+        this.packetBuffer.writeVarInt(i);
+    }
+
+    public void writeVarLong(long l) {
+        this.packetBuffer.writeVarLong(l);
     }
 
+    /**
+     * Writes a small int that may be negative (like a slot index that can be -1), ZigZag encoded so small negative
+     * values take one byte as well.
+     */
+    public void writeSignedVarInt(int i) {
+        this.packetBuffer.writeVarInt((i << 1) ^ (i >> 31));
+    }
+
+    /**
+     * Elements are written as plain ints, they are often colours which would take 5 bytes as varints.
+     */
     public void writeIntArray(int[] data) {
-        try {
-            this.dataout.writeInt(data.length);
-            for (int k :  data)
-                dataout.writeInt(k);
-        } catch (IOException exception) {
-            MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
-        }
+        this.packetBuffer.writeVarInt(data.length);
+        for (int k :  data)
+            this.packetBuffer.writeInt(k);
     }
 
     public void writeByteArray(byte[] data) {
-        try {
-            this.dataout.writeInt(data.length);
-            for (byte k :  data)
-                dataout.writeByte(k);
-        } catch (IOException exception) {
-            MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
-        }
+        this.packetBuffer.writeVarInt(data.length);
+        this.writeBytes(data);
+    }
+
+    /**
+     * Writes the bytes as they are, without a length.
+     */
+    public void writeBytes(byte[] data) {
+        this.packetBuffer.writeBytes(data);
     }
 
     public void writeBoolean(boolean b) {
-        try {
-            this.dataout.writeBoolean(b);
-        } catch (IOException exception) {
-            MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
-        }
+        this.packetBuffer.writeBoolean(b);
     }
 
     public void writeDouble(double i) {
-        try {
-            this.dataout.writeDouble(i);
-        } catch (IOException exception) {
-            MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
-        }
+        this.packetBuffer.writeDouble(i);
     }
 
     /**
      * sends the ItemStack information via NBT
      */
     public void writeItemStack(ItemStack stack) {
-        try {
-            if (stack == null) {
-                this.dataout.writeShort(-1);
-            }
-            else {
-                NBTTagCompound nbt = new NBTTagCompound();
-                stack.writeToNBT(nbt);
-                this.writeNBTTagCompound(nbt);
-            }
-        } catch (IOException exception) {
-            MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
+        if (stack == null) {
+            this.writeNBTTagCompound(null);
+        }
+        else {
+            NBTTagCompound nbt = new NBTTagCompound();
+            stack.writeToNBT(nbt);
+            this.writeNBTTagCompound(nbt);
         }
     }
 
     /**
-     * Writes a compressed NBTTagCompound to the OutputStream
+     * Writes an NBTTagCompound: a header byte, the varint length and the tag, LZ4 compressed if it's big enough for
+     * that to pay off. Read by RichInputStream#readNBTTagCompound.
      */
     public void writeNBTTagCompound(NBTTagCompound nbt) {
+        if (nbt == null) {
+            this.packetBuffer.writeByte(NBT_NULL);
+            return;
+        }
+        NBTCompression compression = nbtCompression.get();
+        ByteBuf raw = compression.raw;
+        raw.clear();
         try {
-            if (nbt == null) {
-                this.dataout.writeShort(-1);
-            } else {
-                byte[] compressednbt = compress(nbt);
-                this.dataout.writeShort((short) compressednbt.length);
-                this.dataout.write(compressednbt);
-            }
+            CompressedStreamTools.write(nbt, compression.rawOut);
         } catch (IOException exception) {
             MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
+            this.packetBuffer.writeByte(NBT_NULL);
+            return;
+        }
+
+        int rawLength = raw.readableBytes();
+        int compressedLength = rawLength >= NBT_COMPRESSION_THRESHOLD ? compression.compress(rawLength) : rawLength;
+        if (compressedLength < rawLength) {
+            this.packetBuffer.writeByte(NBT_LZ4);
+            this.packetBuffer.writeVarInt(rawLength);
+            this.packetBuffer.writeVarInt(compressedLength);
+            this.packetBuffer.writeBytes(compression.compressed, 0, compressedLength);
+        } else {
+            this.packetBuffer.writeByte(NBT_RAW);
+            this.packetBuffer.writeVarInt(rawLength);
+            this.packetBuffer.writeBytes(raw, raw.readerIndex(), rawLength);
         }
+        compression.trim();
     }
 
     /**
-     * "adapted" from 1.7.10
+     * Per thread buffers for serializing and compressing tags, kept between packets.
      */
-    public byte[] compress(NBTTagCompound nbt) {
-        // LZ4 adaptation
-        ByteArrayOutputStream bytearrayoutputstream = new ByteArrayOutputStream();
-        try {
-            DataOutputStream dataoutputstream = new DataOutputStream(new LZ4BlockOutputStream(bytearrayoutputstream));
-            CompressedStreamTools.write(nbt, dataoutputstream);
+    private static final class NBTCompression {
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final int MAX_KEPT_CAPACITY = 256 * 1024;
+
+        final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+        final ByteBuf raw = Unpooled.buffer(INITIAL_CAPACITY);
+        final DataOutputStream rawOut = new DataOutputStream(new ByteBufOutputStream(raw));
+        byte[] compressed = new byte[0];
+
+        /**
+         * Compresses the serialized tag into {@link #compressed}, returns the compressed length.
+         */
+        int compress(int rawLength) {
+            int maxLength = compressor.maxCompressedLength(rawLength);
+            if (compressed.length < maxLength)
+                compressed = new byte[maxLength];
+            return compressor.compress(raw.array(), raw.arrayOffset() + raw.readerIndex(), rawLength, compressed, 0, maxLength);
+        }
 
-            // bytearrayoutputstream only updates if dataoutputstream closes
-            dataoutputstream.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+        // don't hold on to the buffers of an unusually big tag
+        void trim() {
+            if (raw.capacity() > MAX_KEPT_CAPACITY) {
+                raw.clear();
+                raw.capacity(INITIAL_CAPACITY);
+            }
+            if (compressed.length > MAX_KEPT_CAPACITY)
+                compressed = new byte[0];
         }
-        return bytearrayoutputstream.toByteArray();
     }
 
     /**
-     * Writes a String to the DataOutputStream
+     * Writes a String the way DataOutputStream#writeUTF does (modified UTF-8 with a short length)
      */
     public void writeString(String string) {
-        try {
-            this.dataout.writeUTF(string);
-        } catch (IOException exception) {
-            MuseLogger.logException("PROBLEM WRITING DATA TO PACKET:", exception);
+        writeUTF(this.packetBuffer, string);
+    }
+
+    private static void writeUTF(ByteBuf buffer, String string) {
+        int length = string.length();
+        int utfLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            utfLength += (c >= 0x0001 && c <= 0x007F) ? 1 : (c > 0x07FF ? 3 : 2);
+        }
+        if (utfLength > 65535) {
+            MuseLogger.logError("PROBLEM WRITING DATA TO PACKET: string too long, " + utfLength + " bytes");
+            buffer.writeShort(0);
+            return;
+        }
+        buffer.writeShort(utfLength);
+        for (int i = 0; i < length; i++) {
+            char c = string.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                buffer.writeByte(c);
+            } else if (c > 0x07FF) {
+                buffer.writeByte(0xE0 | ((c >> 12) & 0x0F));
+                buffer.writeByte(0x80 | ((c >> 6) & 0x3F));
+                buffer.writeByte(0x80 | (c & 0x3F));
+            } else {
+                buffer.writeByte(0xC0 | ((c >> 6) & 0x1F));
+                buffer.writeByte(0x80 | (c & 0x3F));
+            }
         }
     }
 
@@ -188,7 +308,7 @@ public abstract class MusePacket
      */
     public void writeMap(final Map map) {
         try {
-            dataout.writeInt(map.size());
+            packetBuffer.writeVarInt(map.size());
             for (final Object key : map.keySet()) {
                 writeObject(key);
                 writeObject(map.get(key));
@@ -199,30 +319,30 @@ public abstract class MusePacket
     }
 
     // Used for writing map to packets
-    private void writeObject(final Object o) throws IOException {
+    private void writeObject(final Object o) {
         int i = 0;
         if (o instanceof Byte)
-            dataout.writeByte((Byte) o);
+            packetBuffer.writeByte((Byte) o);
         else if (o instanceof Integer)
-            dataout.writeInt((int) o);
+            packetBuffer.writeInt((int) o);
         else if (o instanceof Long)
-            dataout.writeLong((long) o);
+            packetBuffer.writeLong((long) o);
         else if (o instanceof Float)
-            dataout.writeFloat((float) o);
+            packetBuffer.writeFloat((float) o);
         else if (o instanceof String)
-            dataout.writeUTF((String) o);
+            writeUTF(packetBuffer, (String) o);
         if (o instanceof float[]) {
             final float[] array = (float[]) o;
-            dataout.writeInt(array.length);
+            packetBuffer.writeVarInt(array.length);
             while (i < array.length) {
-                dataout.writeFloat(array[i]);
+                packetBuffer.writeFloat(array[i]);
                 ++i;
             }
         } else if (o instanceof int[]) {
             final int[] array2 = (int[]) o;
-            dataout.writeInt(array2.length);
+            packetBuffer.writeVarInt(array2.length);
             while (i < array2.length) {
-                dataout.writeInt(array2[i]);
+                packetBuffer.writeInt(array2[i]);
                 ++i;
             }
         } else if (o instanceof HashMap)
@@ -3,6 +3,7 @@ package net.machinemuse.numina.network;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.Maps;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
@@ -19,6 +20,7 @@ import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.apache.logging.log4j.Level;
 
 import java.io.DataInputStream;
 import java.io.IOException;
@@ -33,9 +35,17 @@ import java.util.List;
  */
 @ChannelHandler.Sharable
 public final class MusePacketHandler extends MessageToMessageCodec<FMLProxyPacket, MusePacket> {
+    /**
+     * Packet id of a bundle of packets queued during one tick, see {@link PacketBundle}. Not used by any packager.
+     */
+    public static final int BUNDLE_ID = 0;
+
     public static String networkChannelName;
     public static BiMap<Integer, MusePackager> packagers;
     public static EnumMap<Side, FMLEmbeddedChannel> channels;
+    // packets are decoded on the network thread and handled on the main thread of the side they arrived on
+    private static final PacketDispatchQueue serverQueue = new PacketDispatchQueue("SERVER");
+    private static final PacketDispatchQueue clientQueue = new PacketDispatchQueue("CLIENT");
 
     private MusePacketHandler() {
         this.networkChannelName = "Numina";
@@ -55,35 +65,79 @@ public final class MusePacketHandler extends MessageToMessageCodec<FMLProxyPacke
         }
     }
 
+    public static PacketDispatchQueue getDispatchQueue(Side side) {
+        return side == Side.SERVER ? serverQueue : clientQueue;
+    }
+
+    /**
+     * Handles the packets that arrived for the side since the last call. Called from the side's main thread at the
+     * start of every tick.
+     */
+    public static void dispatchReceived(Side side) {
+        getDispatchQueue(side).drain();
+    }
+
     @SideOnly(Side.CLIENT)
     private EntityPlayer getClientPlayer() {
         return Minecraft.getMinecraft().player;
     }
 
     public void decode(ChannelHandlerContext ctx, FMLProxyPacket msg, List<Object> out) {
-        DataInputStream data = new DataInputStream((InputStream)new ByteBufInputStream(msg.payload()));
+        ByteBuf payload = msg.payload();
+        DataInputStream data = new DataInputStream((InputStream)new ByteBufInputStream(payload));
 
         INetHandler handler = msg.handler();
         try {
-            int packetType = data.readInt();
-
-            if (handler instanceof NetHandlerPlayServer) {
-                EntityPlayerMP player = ((NetHandlerPlayServer) handler).player;
-                MusePackager packagerServer = this.packagers.get(packetType);
-                MusePacket packetServer = packagerServer.read(data, player);
-                packetServer.handleServer(player);
+            int packetType = RichInputStream.readVarInt(data);
+            if (packetType != BUNDLE_ID) {
+                handle(packetType, data, handler);
+                return;
+            }
 
-            } else {
-                if (!(handler instanceof NetHandlerPlayClient)) {
-                    throw new IOException("Error with (INetHandler) handler. Should be instance of NetHandlerPlayClient.");
+            int count = RichInputStream.readVarInt(data);
+            for (int i = 0; i < count; i++) {
+                ByteBuf packet = payload.readSlice(payload.readUnsignedMedium());
+                // a packet that fails doesn't take the rest of the bundle with it
+                try {
+                    DataInputStream packetData = new DataInputStream(new ByteBufInputStream(packet));
+                    handle(RichInputStream.readVarInt(packetData), packetData, handler);
+                } catch (Exception exception) {
+                    MuseLogger.logException("PROBLEM READING PACKET IN DECODE STEP D:", exception);
                 }
-                EntityPlayer player = this.getClientPlayer();
-                MusePackager packagerClient = this.packagers.get(packetType);
-                MusePacket packetClient = packagerClient.read(data, player);
-                packetClient.handleClient(player);
             }
         }catch (Exception exception) {
             MuseLogger.logException("PROBLEM READING PACKET IN DECODE STEP D:", exception);
         }
     }
+
+    /**
+     * Reads the packet and queues its handling for the main thread. The player is looked up again when it's handled,
+     * it may have respawned in between.
+     */
+    private void handle(int packetType, DataInputStream data, INetHandler handler) throws Exception {
+        if (handler instanceof NetHandlerPlayServer) {
+            NetHandlerPlayServer serverHandler = (NetHandlerPlayServer) handler;
+            MusePackager packagerServer = this.packagers.get(packetType);
+            MusePacket packetServer = packagerServer.read(data, serverHandler.player);
+            if (!serverQueue.offer(handler, () -> {
+                EntityPlayerMP player = serverHandler.player;
+                if (!player.hasDisconnected())
+                    packetServer.handleServer(player);
+            }))
+                MuseLogger.trace(MuseLogger.Category.NETWORK, Level.WARN, () -> "Server packet queue full, dropped packet " + packetType);
+
+        } else {
+            if (!(handler instanceof NetHandlerPlayClient)) {
+                throw new IOException("Error with (INetHandler) handler. Should be instance of NetHandlerPlayClient.");
+            }
+            MusePackager packagerClient = this.packagers.get(packetType);
+            MusePacket packetClient = packagerClient.read(data, this.getClientPlayer());
+            if (!clientQueue.offer(handler, () -> {
+                EntityPlayer player = this.getClientPlayer();
+                if (player != null)
+                    packetClient.handleClient(player);
+            }))
+                MuseLogger.trace(MuseLogger.Category.NETWORK, Level.WARN, () -> "Client packet queue full, dropped packet " + packetType);
+        }
+    }
 }
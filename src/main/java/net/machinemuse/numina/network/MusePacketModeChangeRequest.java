@@ -31,7 +31,7 @@ public class MusePacketModeChangeRequest extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(slot);
+        writeSignedVarInt(slot);
         writeString(mode);
     }
 
@@ -66,7 +66,7 @@ public class MusePacketModeChangeRequest extends MusePacket {
     public static class MusePacketModeChangeRequestPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int slot = readInt(datain);
+            int slot = readSignedVarInt(datain);
             String mode = readString(datain);
             return new MusePacketModeChangeRequest(player, mode, slot);
         }
@@ -0,0 +1,88 @@
+package net.machinemuse.numina.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
+
+import java.util.function.Consumer;
+
+/**
+ * Packets queued for one destination during a tick. They are encoded when they're queued, so they carry the state of
+ * the moment they were sent, and go out as a single bundle packet that {@link MusePacketHandler} unpacks in order.
+ *
+ * Bundle layout: the varint {@link MusePacketHandler#BUNDLE_ID}, the varint packet count, then per packet its length
+ * (3 bytes) followed by the packet as it would be sent alone.
+ */
+final class PacketBundle {
+    // payloads sent to the server can't exceed 32767 bytes, keep bundles under that in both directions
+    private static final int MAX_SIZE = 32000;
+    // bundle id and count, as varints
+    private static final int HEADER_SIZE = 10;
+
+    private final PacketBuffer buffer = new PacketBuffer(Unpooled.buffer(256));
+    private int count = 0;
+
+    /**
+     * Encodes the packet into the bundle. If the bundle doesn't have room for it, what was queued before is handed to
+     * send first.
+     */
+    void add(MusePacket packet, Consumer<FMLProxyPacket> send) {
+        int start = buffer.writerIndex();
+        buffer.writeMedium(0);
+        try {
+            packet.writeTo(buffer);
+        } catch (RuntimeException e) {
+            // don't leave half a packet behind
+            buffer.writerIndex(start);
+            throw e;
+        }
+        int length = buffer.writerIndex() - start - 3;
+        buffer.setMedium(start, length);
+        count++;
+
+        if (count > 1 && HEADER_SIZE + buffer.readableBytes() > MAX_SIZE) {
+            ByteBuf last = buffer.copy(start, length + 3);
+            buffer.writerIndex(start);
+            count--;
+            flush(send);
+            buffer.writeBytes(last);
+            count = 1;
+        }
+        // too big to share a bundle with anything, it goes out on its own
+        if (HEADER_SIZE + buffer.readableBytes() > MAX_SIZE)
+            flush(send);
+    }
+
+    /**
+     * Drops the queued packets without sending them.
+     */
+    void clear() {
+        buffer.clear();
+        count = 0;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Hands the queued packets to send, as one bundle or, if there's only one, as that packet.
+     */
+    void flush(Consumer<FMLProxyPacket> send) {
+        if (count == 0)
+            return;
+        PacketBuffer payload;
+        if (count == 1) {
+            payload = new PacketBuffer(Unpooled.copiedBuffer(buffer.slice(3, buffer.readableBytes() - 3)));
+        } else {
+            payload = new PacketBuffer(Unpooled.buffer(HEADER_SIZE + buffer.readableBytes()));
+            payload.writeVarInt(MusePacketHandler.BUNDLE_ID);
+            payload.writeVarInt(count);
+            payload.writeBytes(buffer, buffer.readerIndex(), buffer.readableBytes());
+        }
+        buffer.clear();
+        count = 0;
+        send.accept(new FMLProxyPacket(payload, MusePacketHandler.networkChannelName));
+    }
+}
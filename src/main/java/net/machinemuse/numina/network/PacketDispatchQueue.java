@@ -0,0 +1,128 @@
+package net.machinemuse.numina.network;
+
+import com.google.common.collect.MapMaker;
+import net.machinemuse.numina.utils.MuseLogger;
+import org.apache.logging.log4j.Level;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Packets decoded on the network thread, waiting to be handled on the main thread of one side. Any number of network
+ * threads add to it without locking, only the main thread takes from it, at most {@link #TICK_BUDGET} packets per
+ * tick so a flood of packets is spread over several ticks instead of stalling one.
+ *
+ * The queue holds at most {@link #CONNECTION_CAPACITY} packets per connection and {@link #CAPACITY} in total, packets
+ * that arrive while either is reached are dropped and counted. The per connection bound keeps one client that floods
+ * the channel from crowding out everyone else's packets.
+ */
+public final class PacketDispatchQueue {
+    public static final int CAPACITY = 16384;
+    public static final int CONNECTION_CAPACITY = 512;
+    public static final int TICK_BUDGET = 512;
+
+    private final String name;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue#size walks the queue, so the bound is kept here
+    private final AtomicInteger size = new AtomicInteger();
+    // packets waiting per connection (the net handler they arrived on)
+    private final Map<Object, AtomicInteger> waitingByConnection = new MapMaker().weakKeys().makeMap();
+    private final AtomicInteger highWater = new AtomicInteger();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long processed = 0;
+    private volatile long overBudgetTicks = 0;
+    // dropped count already reported, only touched by the main thread
+    private long droppedReported = 0;
+
+    PacketDispatchQueue(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Queues the handling of a packet decoded from the connection. Returns false if the queue is full, for this
+     * connection or overall, and the packet was dropped.
+     */
+    boolean offer(Object connection, Runnable handling) {
+        AtomicInteger waiting = waitingByConnection.computeIfAbsent(connection, c -> new AtomicInteger());
+        if (waiting.incrementAndGet() > CONNECTION_CAPACITY) {
+            waiting.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        int queued = size.incrementAndGet();
+        if (queued > CAPACITY) {
+            size.decrementAndGet();
+            waiting.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        highWater.accumulateAndGet(queued, Math::max);
+        received.incrementAndGet();
+        queue.offer(() -> {
+            waiting.decrementAndGet();
+            handling.run();
+        });
+        return true;
+    }
+
+    /**
+     * Handles the queued packets, up to the tick budget. Only call this from the side's main thread.
+     */
+    void drain() {
+        int handled = 0;
+        Runnable handling;
+        while (handled < TICK_BUDGET && (handling = queue.poll()) != null) {
+            size.decrementAndGet();
+            handled++;
+            try {
+                handling.run();
+            } catch (Exception exception) {
+                MuseLogger.logException("PROBLEM HANDLING PACKET ON " + name + " THREAD:", exception);
+            }
+        }
+        processed += handled;
+
+        if (handled == TICK_BUDGET && !queue.isEmpty()) {
+            overBudgetTicks++;
+            final int left = size.get();
+            MuseLogger.trace(MuseLogger.Category.NETWORK, Level.DEBUG, () -> name + " packet budget used up, " + left + " left for the next tick");
+        }
+        long droppedNow = dropped.get();
+        if (droppedNow != droppedReported) {
+            MuseLogger.logError(name + " packet queue full, dropped " + (droppedNow - droppedReported) + " packets (" + droppedNow + " in total)");
+            droppedReported = droppedNow;
+        }
+    }
+
+    /** Packets waiting to be handled. */
+    public int size() {
+        return size.get();
+    }
+
+    /** Most packets that were waiting at once. */
+    public int getHighWater() {
+        return highWater.get();
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    /** Packets dropped because the queue was full. */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** Ticks that ended with packets still waiting because the budget was used up. */
+    public long getOverBudgetTicks() {
+        return overBudgetTicks;
+    }
+}
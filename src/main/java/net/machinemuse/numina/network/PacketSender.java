@@ -4,29 +4,113 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.Packet;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.network.FMLEmbeddedChannel;
 import net.minecraftforge.fml.common.network.FMLOutboundHandler;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.relauncher.Side;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Ported to Java by lehjr on 10/22/16.
  */
 public class PacketSender {
     private static EnumMap<Side, FMLEmbeddedChannel> channels = MusePacketHandler.channels;
+    // packets queued with queueTo/queueToServer, sent at the end of the tick by flushQueued
+    private static final Map<EntityPlayerMP, PacketBundle> playerBundles = new IdentityHashMap<>();
+    private static final PacketBundle serverBundle = new PacketBundle();
+    // packets queued with queueLatestToServer by packet class and slot, only the last one per key is sent
+    private static final Map<Pair<Class<?>, Integer>, MusePacket> latestToServer = new LinkedHashMap<>();
 
     public static Packet getPacketFrom(MusePacket message) {
         return channels.get(Side.SERVER).generatePacketFrom(message);
     }
 
+    /**
+     * Like {@link #sendTo(MusePacket, EntityPlayerMP)}, but the packet is sent at the end of the server tick together
+     * with everything else queued for the player. Packets arrive in the order they were queued.
+     */
+    public static void queueTo(MusePacket message, EntityPlayerMP player) {
+        synchronized (playerBundles) {
+            playerBundles.computeIfAbsent(player, p -> new PacketBundle()).add(message, packet -> writeTo(packet, player));
+        }
+    }
+
+    /**
+     * Like {@link #sendToServer(MusePacket)}, but the packet is sent at the end of the client tick together with
+     * everything else queued for the server.
+     */
+    public static void queueToServer(MusePacket message) {
+        synchronized (serverBundle) {
+            serverBundle.add(message, PacketSender::writeToServer);
+        }
+    }
+
+    /**
+     * Like {@link #queueToServer(MusePacket)}, but replaces a packet of the same class queued for the same slot during
+     * this tick, for updates (like dragging a colour slider) where only the last one matters. These packets are
+     * encoded and sent after the ones queued with queueToServer.
+     */
+    public static void queueLatestToServer(MusePacket message, int slot) {
+        synchronized (serverBundle) {
+            latestToServer.put(Pair.of(message.getClass(), slot), message);
+        }
+    }
+
+    /**
+     * Drops everything queued for the server, when the client disconnects.
+     */
+    public static void clearQueuedToServer() {
+        synchronized (serverBundle) {
+            latestToServer.clear();
+            serverBundle.clear();
+        }
+    }
+
+    /**
+     * Sends the packets queued for the side. Called at the end of every tick.
+     */
+    public static void flushQueued(Side side) {
+        if (side == Side.SERVER) {
+            synchronized (playerBundles) {
+                for (Map.Entry<EntityPlayerMP, PacketBundle> entry : playerBundles.entrySet()) {
+                    EntityPlayerMP player = entry.getKey();
+                    if (!player.hasDisconnected())
+                        entry.getValue().flush(packet -> writeTo(packet, player));
+                }
+                playerBundles.clear();
+            }
+        } else {
+            synchronized (serverBundle) {
+                // nowhere to send them (disconnected, or in the main menu)
+                if (FMLCommonHandler.instance().getClientToServerNetworkManager() == null) {
+                    clearQueuedToServer();
+                    return;
+                }
+                for (MusePacket message : latestToServer.values())
+                    serverBundle.add(message, PacketSender::writeToServer);
+                latestToServer.clear();
+                serverBundle.flush(PacketSender::writeToServer);
+            }
+        }
+    }
+
     public static void sendToAll(MusePacket message) {
         channels.get(Side.SERVER).attr(FMLOutboundHandler.FML_MESSAGETARGET).set(FMLOutboundHandler.OutboundTarget.ALL);
         channels.get(Side.SERVER).writeOutbound(message);
     }
 
     public static void sendTo(MusePacket message, EntityPlayerMP player) {
+        writeTo(message, player);
+    }
+
+    // the message is a MusePacket or an already encoded FMLProxyPacket
+    private static void writeTo(Object message, EntityPlayerMP player) {
         channels.get(Side.SERVER).attr(FMLOutboundHandler.FML_MESSAGETARGET).set(FMLOutboundHandler.OutboundTarget.PLAYER);
         channels.get(Side.SERVER).attr(FMLOutboundHandler.FML_MESSAGETARGETARGS).set(player);
         channels.get(Side.SERVER).writeOutbound(message);
@@ -45,6 +129,10 @@ public class PacketSender {
     }
 
     public static void sendToServer(MusePacket message) {
+        writeToServer(message);
+    }
+
+    private static void writeToServer(Object message) {
         channels.get(Side.CLIENT).attr(FMLOutboundHandler.FML_MESSAGETARGET).set(FMLOutboundHandler.OutboundTarget.TOSERVER);
         channels.get(Side.CLIENT).writeOutbound(message);
     }
@@ -1,19 +1,18 @@
 package net.machinemuse.numina.network;
 
-import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4SafeDecompressor;
 import net.machinemuse.numina.utils.MuseLogger;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTSizeTracker;
 import net.minecraft.nbt.NBTTagCompound;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 
 /**
  * Author: MachineMuse (Claire Semple)
@@ -22,6 +21,11 @@ import java.util.List;
  * Ported to Java by lehjr on 11/5/16.
  */
 public class RichInputStream {
+    // same limit vanilla applies to NBT read from packets
+    private static final int MAX_NBT_SIZE = 2097152;
+    // the input comes from the network, so the decompressor has to check its bounds
+    private static final LZ4SafeDecompressor decompressor = LZ4Factory.fastestInstance().safeDecompressor();
+
     public static DataInputStream in;
 
     private RichInputStream(DataInputStream in) {
@@ -36,17 +40,11 @@ public class RichInputStream {
      * Reads a series Int's from the InputStream and returns an Array of them
      */
     public int[] readIntArray() {
-        // TODO: Simplify in 1.10.2 (Java 8)
-        List<Integer> integerArrayList = new ArrayList<>();
         try {
-            int arraySize = in.readInt();
+            int arraySize = readLength(in, 4);
+            int[] intArray = new int[arraySize];
             for (int k = 0; k < arraySize; k++)
-                integerArrayList.add(in.readInt());
-
-            int[] intArray = new int[integerArrayList.size()];
-            for (int i = 0; i < integerArrayList.size(); i++) {
-                intArray[i] = integerArrayList.get(i);
-            }
+                intArray[k] = in.readInt();
             return intArray;
 
         } catch (IOException e) {
@@ -59,17 +57,9 @@ public class RichInputStream {
      * Reads a series Bytes from the InputStream and returns an Array of them
      */
     public byte[] readByteArray() {
-        // TODO: Simplify in 1.10.2 (Java 8)
-        List<Byte> byteArrayList = new ArrayList<>();
         try {
-            int arraySize = in.readInt();
-            for (byte k = 0; k < arraySize; k++)
-                byteArrayList.add(in.readByte());
-
-            byte[] byteArray = new byte[byteArrayList.size()];
-            for (int i = 0; i < byteArrayList.size(); i++) {
-                byteArray[i] = byteArrayList.get(i);
-            }
+            byte[] byteArray = new byte[readLength(in, 1)];
+            in.readFully(byteArray);
             return byteArray;
 
         } catch (IOException e) {
@@ -87,34 +77,84 @@ public class RichInputStream {
     }
 
     /**
-     * Load the compressed compound from the inputstream.
+     * Reads an NBTTagCompound written by MusePacket#writeNBTTagCompound
      */
-    public static NBTTagCompound readCompressed(InputStream is) throws IOException {
-//        DataInputStream datainputstream = new DataInputStream(new BufferedInputStream(new GZIPInputStream(is)));
-        // LZ4 adaptation of vanilla method
-        DataInputStream datainputstream = new DataInputStream(new BufferedInputStream(new LZ4BlockInputStream(is)));
-        NBTTagCompound nbttagcompound;
-
+    public NBTTagCompound readNBTTagCompound() {
         try {
-            nbttagcompound = CompressedStreamTools.read(datainputstream, NBTSizeTracker.INFINITE);
-        } finally {
-            datainputstream.close();
+            byte format = in.readByte();
+            if (format == MusePacket.NBT_NULL)
+                return null;
+
+            int rawLength = readVarInt(in);
+            if (rawLength < 0 || rawLength > MAX_NBT_SIZE)
+                throw new IOException("NBT tag too big: " + rawLength + " bytes");
+            byte[] raw = new byte[rawLength];
+            if (format == MusePacket.NBT_LZ4) {
+                int compressedLength = readVarInt(in);
+                // LZ4 never grows data by more than this
+                if (compressedLength < 0 || compressedLength > rawLength + rawLength / 255 + 16)
+                    throw new IOException("Bad compressed NBT length: " + compressedLength + " bytes");
+                byte[] compressed = new byte[compressedLength];
+                in.readFully(compressed);
+                if (decompressor.decompress(compressed, 0, compressedLength, raw, 0, rawLength) != rawLength)
+                    throw new IOException("Compressed NBT tag is shorter than announced");
+            } else if (format == MusePacket.NBT_RAW) {
+                in.readFully(raw);
+            } else {
+                throw new IOException("Unknown NBT format: " + format);
+            }
+            return CompressedStreamTools.read(new DataInputStream(new ByteArrayInputStream(raw)), new NBTSizeTracker(MAX_NBT_SIZE));
+        } catch (IOException | LZ4Exception e) {
+            MuseLogger.logException("PROBLEM READING DATA FROM PACKET D:", e);
+            return null;
         }
-        return nbttagcompound;
     }
 
     /**
-     * Reads a compressed NBTTagCompound from the InputStream
+     * Reads a varint length and checks the packet still holds that many elements of the given size, so a bad length
+     * can't make us allocate a huge array.
      */
-    public NBTTagCompound readNBTTagCompound() {
-        short length;
-        try {
-            length = in.readShort();
-            return (length != -1) ? readCompressed(in) : null;
-        } catch (IOException e) {
-            MuseLogger.logException("PROBLEM READING DATA FROM PACKET D:", e);
-            return null;
+    private static int readLength(DataInputStream datain, int elementSize) throws IOException {
+        int length = readVarInt(datain);
+        if (length < 0 || length > datain.available() / elementSize)
+            throw new IOException("Bad length: " + length);
+        return length;
+    }
+
+    /**
+     * Reads a variable length long as written by PacketBuffer#writeVarLong
+     */
+    public static long readVarLong(DataInputStream datain) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = datain.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("VarLong too big");
+    }
+
+    /**
+     * Reads a ZigZag encoded int as written by MusePacket#writeSignedVarInt
+     */
+    public static int readSignedVarInt(DataInputStream datain) throws IOException {
+        int value = readVarInt(datain);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a variable length int as written by PacketBuffer#writeVarInt
+     */
+    public static int readVarInt(DataInputStream datain) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = datain.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
         }
+        throw new IOException("VarInt too big");
     }
 
     /**
@@ -135,7 +175,7 @@ public class RichInputStream {
     public static HashMap getMapFromStream(final DataInputStream datain, final Class keyClass, final Class valueClass) {
         try {
             final HashMap<Object, Object> hashMap = new HashMap<>();
-            for (int int1 = datain.readInt(), i = 0; i < int1; ++i) {
+            for (int int1 = readVarInt(datain), i = 0; i < int1; ++i) {
                 hashMap.put(readObject(datain, keyClass), readObject(datain, valueClass));
             }
             return hashMap;
@@ -160,7 +200,7 @@ public class RichInputStream {
             return dataInputStream.readUTF();
         }
         if (clazz == int[].class) {
-            final int int1 = dataInputStream.readInt();
+            final int int1 = readLength(dataInputStream, 4);
             final int[] array = new int[int1];
             while (i < int1) {
                 array[i] = dataInputStream.readInt();
@@ -171,7 +211,7 @@ public class RichInputStream {
         if (clazz != float[].class) {
             return null;
         }
-        final int int2 = dataInputStream.readInt();
+        final int int2 = readLength(dataInputStream, 4);
         final float[] array2 = new float[int2];
         while (i < int2) {
             array2[i] = dataInputStream.readFloat();
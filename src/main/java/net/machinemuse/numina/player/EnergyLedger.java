@@ -0,0 +1,176 @@
+package net.machinemuse.numina.player;
+
+import net.machinemuse.numina.api.energy.adapater.ElectricAdapter;
+import net.machinemuse.numina.api.module.ModuleManager;
+import net.machinemuse.numina.utils.MuseLogger;
+import net.machinemuse.utils.ElectricItemUtils;
+import org.apache.logging.log4j.Level;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the energy a player's modules spend and generate during one player tick. Debits and credits are checked
+ * against a running balance and only the net amount is written to the items when the tick is committed, so each item
+ * is touched at most once per tick.
+ *
+ * The balance starts at what the items can actually give up this tick (stored energy limited by their transfer
+ * rates), so modules can't be granted energy the commit won't be able to drain. Anything the items still refuse
+ * when the tick is committed is carried over and drained the next tick. The items are only asked for that on the
+ * first debit, credit or balance check of the tick, a tick nothing posts to leaves them alone.
+ *
+ * Amounts are also booked per module (by module id), the totals of the last committed tick can be read back for a
+ * per module usage readout.
+ */
+public class EnergyLedger {
+    private boolean open = false;
+    private List<ElectricAdapter> adapters = Collections.emptyList();
+    // whether balance and room were taken from the items yet this tick
+    private boolean snapshotTaken;
+    // energy that can still be spent this tick, and still be taken in
+    private int balance;
+    private int room;
+    // energy spent in earlier ticks that the items didn't give up yet
+    private int owed = 0;
+    private int debited;
+    private int credited;
+    // module id the current debits and credits are booked to, -1 when not known
+    private int source = -1;
+    private int[] moduleDebits = new int[0];
+    private int[] moduleCredits = new int[0];
+    private int[] lastModuleDebits = new int[0];
+    private int[] lastModuleCredits = new int[0];
+
+    /**
+     * Starts a tick for the player's electric items.
+     */
+    public void open(List<ElectricAdapter> adapters) {
+        int modules = ModuleManager.getInstance().getAllModules().size();
+        if (moduleDebits.length != modules) {
+            moduleDebits = new int[modules];
+            moduleCredits = new int[modules];
+        }
+        this.adapters = adapters;
+        snapshotTaken = false;
+        debited = 0;
+        credited = 0;
+        source = -1;
+        open = true;
+    }
+
+    private void takeSnapshot() {
+        if (snapshotTaken)
+            return;
+        int drainable = ElectricItemUtils.extractableEnergy(adapters);
+        // whatever couldn't even be drained this tick is written off
+        owed = Math.min(owed, drainable);
+        balance = drainable - owed;
+        room = ElectricItemUtils.receivableEnergy(adapters);
+        snapshotTaken = true;
+    }
+
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Sets the module that following debits and credits are booked to.
+     */
+    public void setSource(@Nullable String moduleName) {
+        source = moduleName != null ? ModuleManager.getInstance().getModuleId(moduleName) : -1;
+    }
+
+    /**
+     * Energy that can still be spent this tick, after the debits and credits posted so far.
+     */
+    public int getBalance() {
+        takeSnapshot();
+        return balance;
+    }
+
+    public boolean canAfford(int amount) {
+        takeSnapshot();
+        return balance >= amount;
+    }
+
+    /**
+     * Takes up to the given amount from the balance. Returns the amount actually taken.
+     */
+    public int debit(int amount) {
+        takeSnapshot();
+        int taken = Math.max(0, Math.min(amount, balance));
+        balance -= taken;
+        room += taken;
+        debited += taken;
+        if (source >= 0 && source < moduleDebits.length)
+            moduleDebits[source] += taken;
+        return taken;
+    }
+
+    /**
+     * Adds up to the given amount to the balance, limited by what the items can take in. Returns the amount accepted.
+     */
+    public int credit(int amount) {
+        takeSnapshot();
+        int accepted = Math.max(0, Math.min(amount, room));
+        room -= accepted;
+        balance += accepted;
+        credited += accepted;
+        if (source >= 0 && source < moduleCredits.length)
+            moduleCredits[source] += accepted;
+        return accepted;
+    }
+
+    /**
+     * Writes the net result of the tick to the items and closes the ledger. Returns whether the items were touched.
+     */
+    public boolean commit() {
+        int net = credited - debited - owed;
+        boolean transferred = net != 0;
+        if (net < 0) {
+            int drained = ElectricItemUtils.drainAdapters(adapters, -net);
+            owed = -net - drained;
+            if (owed > 0)
+                MuseLogger.trace(MuseLogger.Category.ENERGY, Level.DEBUG, () -> "Items refused " + owed + " of " + -net + " energy drained, carried over");
+        } else {
+            owed = 0;
+            if (net > 0) {
+                int charged = ElectricItemUtils.chargeAdapters(adapters, net);
+                if (charged < net)
+                    MuseLogger.trace(MuseLogger.Category.ENERGY, Level.DEBUG, () -> "Items refused " + (net - charged) + " of " + net + " energy charged");
+            }
+        }
+
+        // keep this tick's bookings for the readout, reuse the older arrays for the next tick
+        int[] swap = lastModuleDebits;
+        lastModuleDebits = moduleDebits;
+        moduleDebits = swap.length == lastModuleDebits.length ? swap : new int[lastModuleDebits.length];
+        Arrays.fill(moduleDebits, 0);
+        swap = lastModuleCredits;
+        lastModuleCredits = moduleCredits;
+        moduleCredits = swap.length == lastModuleCredits.length ? swap : new int[lastModuleCredits.length];
+        Arrays.fill(moduleCredits, 0);
+        source = -1;
+        adapters = Collections.emptyList();
+        open = false;
+        return transferred;
+    }
+
+    /**
+     * Energy the module spent during the last committed tick.
+     */
+    public int getLastDebit(String moduleName) {
+        int id = ModuleManager.getInstance().getModuleId(moduleName);
+        return id >= 0 && id < lastModuleDebits.length ? lastModuleDebits[id] : 0;
+    }
+
+    /**
+     * Energy the module generated during the last committed tick.
+     */
+    public int getLastCredit(String moduleName) {
+        int id = ModuleManager.getInstance().getModuleId(moduleName);
+        return id >= 0 && id < lastModuleCredits.length ? lastModuleCredits[id] : 0;
+    }
+}
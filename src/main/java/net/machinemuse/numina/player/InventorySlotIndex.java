@@ -0,0 +1,76 @@
+package net.machinemuse.numina.player;
+
+import net.machinemuse.numina.api.energy.adapater.ElectricAdapter;
+import net.machinemuse.numina.api.item.IMuseItem;
+import net.machinemuse.numina.capabilities.CapabilityHeat;
+import net.minecraft.entity.player.InventoryPlayer;
+import net.minecraft.item.ItemStack;
+
+import java.util.BitSet;
+
+/**
+ * Which slots of a player's inventory hold heat capable stacks, stacks that hold energy (through any supported energy
+ * API) and modular items. Minecraft doesn't notify slot changes on both sides, so the index is updated by comparing
+ * each slot's stack with the one seen last time: only slots holding a different stack (or one that ran out) are
+ * probed again, the rest costs a reference comparison per slot.
+ */
+public class InventorySlotIndex {
+    private ItemStack[] slotStacks = new ItemStack[0];
+    private final BitSet heatSlots = new BitSet();
+    private final BitSet energySlots = new BitSet();
+    private final BitSet modularSlots = new BitSet();
+
+    public InventorySlotIndex update(InventoryPlayer inventory) {
+        int size = inventory.getSizeInventory();
+        if (slotStacks.length != size) {
+            slotStacks = new ItemStack[size];
+            heatSlots.clear();
+            energySlots.clear();
+            modularSlots.clear();
+        }
+        for (int slot = 0; slot < size; slot++) {
+            ItemStack stack = inventory.getStackInSlot(slot);
+            if (stack != slotStacks[slot] || (stack.isEmpty() && isIndexed(slot)))
+                updateSlot(slot, stack);
+        }
+        return this;
+    }
+
+    private boolean isIndexed(int slot) {
+        return heatSlots.get(slot) || energySlots.get(slot) || modularSlots.get(slot);
+    }
+
+    private void updateSlot(int slot, ItemStack stack) {
+        slotStacks[slot] = stack;
+        if (stack.isEmpty()) {
+            heatSlots.clear(slot);
+            energySlots.clear(slot);
+            modularSlots.clear(slot);
+        } else {
+            heatSlots.set(slot, stack.hasCapability(CapabilityHeat.HEAT, null));
+            energySlots.set(slot, ElectricAdapter.wrap(stack) != null);
+            modularSlots.set(slot, stack.getItem() instanceof IMuseItem);
+        }
+    }
+
+    /**
+     * Slots holding stacks with the heat capability. Shared, don't modify.
+     */
+    public BitSet getHeatSlots() {
+        return heatSlots;
+    }
+
+    /**
+     * Slots holding stacks an {@link ElectricAdapter} can be made for. Shared, don't modify.
+     */
+    public BitSet getEnergySlots() {
+        return energySlots;
+    }
+
+    /**
+     * Slots holding modular items. Shared, don't modify.
+     */
+    public BitSet getModularSlots() {
+        return modularSlots;
+    }
+}
@@ -0,0 +1,244 @@
+package net.machinemuse.numina.player;
+
+import net.machinemuse.numina.api.energy.adapater.ElectricAdapter;
+import net.machinemuse.numina.api.item.IMuseItem;
+import net.machinemuse.numina.api.module.IPlayerTickModule;
+import net.machinemuse.numina.api.module.ModularPropertyCache;
+import net.machinemuse.numina.api.module.ModuleManager;
+import net.machinemuse.numina.capabilities.CapabilityHeat;
+import net.machinemuse.numina.capabilities.CapabilitySuitState;
+import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
+import net.machinemuse.powersuits.utils.MuseItemUtils;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.inventory.EntityEquipmentSlot;
+import net.minecraft.item.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a player has equipped, as far as the suit is concerned: the modular items, the electric adapters of the
+ * equipped items, the heatable items and the totals derived from them. Held in a player capability so tick code
+ * doesn't rescan the equipment slots (and allocate new lists) on every call.
+ *
+ * The snapshot is rebuilt when an equipment slot holds a different stack than it did, when
+ * {@link #markDirty()} is called (on equipment change) or when the module state of an equipped modular item
+ * changed. Energy and heat themselves are not cached, only the max values.
+ */
+public class SuitState {
+    private static final EntityEquipmentSlot[] SLOTS = EntityEquipmentSlot.values();
+
+    private boolean dirty = true;
+    private final ItemStack[] slotStacks = new ItemStack[SLOTS.length];
+    // module state the snapshot was built from, one per modular item
+    private ModularPropertyCache[] moduleStates = new ModularPropertyCache[0];
+
+    private List<ItemStack> modularItems = Collections.emptyList();
+    private List<ElectricAdapter> electricItems = Collections.emptyList();
+    private List<ItemStack> heatableItems = Collections.emptyList();
+    // indices into ModuleManager#getPlayerTickModules: active per modular item, active on any of them, and inactive
+    // on all of them with an inactive callback
+    private BitSet[] activeTickModulesByItem = new BitSet[0];
+    private BitSet activeTickModules = new BitSet();
+    private BitSet inactiveTickModules = new BitSet();
+    private double totalWeight;
+    private int maxEnergy;
+    private int maxHeat;
+    private final EnergyLedger energyLedger = new EnergyLedger();
+    private final InventorySlotIndex inventoryIndex = new InventorySlotIndex();
+    // stored energy memoized for the world tick it was read on
+    private int storedEnergy;
+    private long storedEnergyTick = Long.MIN_VALUE;
+
+    /**
+     * Gets the up to date suit state of the player.
+     */
+    public static SuitState get(@Nonnull EntityPlayer player) {
+        SuitState state = player.getCapability(CapabilitySuitState.SUIT_STATE, null);
+        if (state == null)
+            state = new SuitState();
+        return state.refresh(player);
+    }
+
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Only marks the state dirty when the slot now holds a different stack than the one the snapshot was built from.
+     * Energy or heat changes also fire equipment change events, but they don't affect anything cached here.
+     */
+    public void onEquipmentChange(EntityEquipmentSlot slot, ItemStack newStack) {
+        if (slotStacks[slot.ordinal()] != newStack)
+            dirty = true;
+    }
+
+    public SuitState refresh(@Nonnull EntityPlayer player) {
+        if (dirty || !isCurrent(player))
+            rebuild(player);
+        return this;
+    }
+
+    private boolean isCurrent(EntityPlayer player) {
+        for (int i = 0; i < SLOTS.length; i++) {
+            if (player.getItemStackFromSlot(SLOTS[i]) != slotStacks[i])
+                return false;
+        }
+        for (int i = 0; i < moduleStates.length; i++) {
+            if (ModularPropertyCache.get(MuseItemUtils.getMuseItemTag(modularItems.get(i))) != moduleStates[i])
+                return false;
+        }
+        return true;
+    }
+
+    private void rebuild(EntityPlayer player) {
+        List<ItemStack> modulars = new ArrayList<>();
+        List<ElectricAdapter> electrics = new ArrayList<>();
+        List<ItemStack> heatables = new ArrayList<>();
+        for (int i = 0; i < SLOTS.length; i++) {
+            ItemStack stack = player.getItemStackFromSlot(SLOTS[i]);
+            slotStacks[i] = stack;
+            if (stack.isEmpty())
+                continue;
+            if (stack.getItem() instanceof IMuseItem)
+                modulars.add(stack);
+            ElectricAdapter adapter = ElectricAdapter.wrap(stack);
+            if (adapter != null)
+                electrics.add(0, adapter);
+            if (stack.hasCapability(CapabilityHeat.HEAT, null))
+                heatables.add(stack);
+        }
+
+        moduleStates = new ModularPropertyCache[modulars.size()];
+        activeTickModulesByItem = new BitSet[modulars.size()];
+        BitSet active = new BitSet();
+        double weight = 0;
+        for (int i = 0; i < modulars.size(); i++) {
+            ItemStack stack = modulars.get(i);
+            moduleStates[i] = ModularPropertyCache.get(MuseItemUtils.getMuseItemTag(stack));
+            activeTickModulesByItem[i] = moduleStates[i].getActiveTickModules(stack);
+            active.or(activeTickModulesByItem[i]);
+            weight += ModuleManager.getInstance().computeModularPropertyDouble(stack, MPSModuleConstants.WEIGHT);
+        }
+        BitSet inactive = new BitSet();
+        if (!modulars.isEmpty()) {
+            List<IPlayerTickModule> tickModules = ModuleManager.getInstance().getPlayerTickModules();
+            for (int i = active.nextClearBit(0); i < tickModules.size(); i = active.nextClearBit(i + 1)) {
+                if (tickModules.get(i).hasInactiveTick())
+                    inactive.set(i);
+            }
+        }
+        long energy = 0;
+        for (ElectricAdapter adapter : electrics)
+            energy += adapter.getMaxEnergyStored();
+        int heat = 0;
+        for (ItemStack stack : heatables)
+            heat += stack.getCapability(CapabilityHeat.HEAT, null).getMaxHeatStored();
+
+        modularItems = Collections.unmodifiableList(modulars);
+        electricItems = Collections.unmodifiableList(electrics);
+        heatableItems = Collections.unmodifiableList(heatables);
+        activeTickModules = active;
+        inactiveTickModules = inactive;
+        totalWeight = weight;
+        maxEnergy = (int) Math.min(energy, Integer.MAX_VALUE);
+        maxHeat = heat;
+        storedEnergyTick = Long.MIN_VALUE;
+        dirty = false;
+    }
+
+    /**
+     * Equipped modular items, in equipment slot order.
+     */
+    public List<ItemStack> getModularItems() {
+        return modularItems;
+    }
+
+    /**
+     * Adapters for the equipped items that hold energy, in reverse equipment slot order.
+     */
+    public List<ElectricAdapter> getElectricItems() {
+        return electricItems;
+    }
+
+    /**
+     * Equipped items with the heat capability.
+     */
+    public List<ItemStack> getHeatableItems() {
+        return heatableItems;
+    }
+
+    /**
+     * Tick modules active on each of the modular items, as indices into {@link ModuleManager#getPlayerTickModules()}.
+     * Shared with the module state cache, don't modify them.
+     */
+    public BitSet[] getActiveTickModulesByItem() {
+        return activeTickModulesByItem;
+    }
+
+    /**
+     * Tick modules active on at least one of the modular items. Don't modify it.
+     */
+    public BitSet getActiveTickModules() {
+        return activeTickModules;
+    }
+
+    /**
+     * Tick modules active on none of the modular items that want the inactive callback. Empty when no modular item
+     * is equipped. Don't modify it.
+     */
+    public BitSet getInactiveTickModules() {
+        return inactiveTickModules;
+    }
+
+    public double getTotalWeight() {
+        return totalWeight;
+    }
+
+    public int getMaxEnergy() {
+        return maxEnergy;
+    }
+
+    public int getMaxHeat() {
+        return maxHeat;
+    }
+
+    /**
+     * Energy stored in the equipped items. Read from the items at most once per world tick, unless
+     * {@link #invalidateStoredEnergy()} is called in between.
+     */
+    public int getStoredEnergy(long worldTime) {
+        if (storedEnergyTick != worldTime) {
+            long stored = 0;
+            for (ElectricAdapter adapter : electricItems)
+                stored += adapter.getEnergyStored();
+            storedEnergy = (int) Math.min(stored, Integer.MAX_VALUE);
+            storedEnergyTick = worldTime;
+        }
+        return storedEnergy;
+    }
+
+    /**
+     * Call after energy was added to or taken from the equipped items.
+     */
+    public void invalidateStoredEnergy() {
+        storedEnergyTick = Long.MIN_VALUE;
+    }
+
+    /**
+     * Index of the player's inventory slots by capability, brought up to date with the inventory.
+     */
+    public InventorySlotIndex getInventoryIndex(@Nonnull EntityPlayer player) {
+        return inventoryIndex.update(player.inventory);
+    }
+
+    /**
+     * Ledger the player's energy use is posted to while the player tick is running.
+     */
+    public EnergyLedger getEnergyLedger() {
+        return energyLedger;
+    }
+}
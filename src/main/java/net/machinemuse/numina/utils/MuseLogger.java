@@ -1,9 +1,15 @@
 package net.machinemuse.numina.utils;
 
 import net.machinemuse.numina.common.config.NuminaConfig;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
 /**
  * Logger access class. May become more fleshed out in the future.
  *
@@ -15,6 +21,47 @@ import org.apache.logging.log4j.Logger;
 public final class MuseLogger {
     private static final Logger logger = LogManager.getLogger("MachineMuse");
 
+    /**
+     * Debug tracing, see {@link #trace(Category, Level, Supplier)}. Off by default, which compiles all tracing out of
+     * the hot paths. Start with -Dnumina.trace=true to turn it on, it's then decided per category at runtime.
+     */
+    public static final boolean TRACE_ENABLED = "true".equalsIgnoreCase(System.getProperty("numina.trace"));
+
+    public enum Category {
+        ENERGY,
+        HEAT,
+        MODULES,
+        ITEMS,
+        CONFIG,
+        NETWORK,
+        RENDER,
+        GUI
+    }
+
+    private static final Category[] CATEGORIES = Category.values();
+    // highest Level#intLevel that is traced, per category. Everything starts off.
+    private static volatile int[] traceLevels = new int[CATEGORIES.length];
+    // only every n-th message that passes the level is logged, per category
+    private static volatile int[] traceSampling = new int[CATEGORIES.length];
+    private static final AtomicIntegerArray traceCounters = new AtomicIntegerArray(CATEGORIES.length);
+
+    static {
+        Arrays.fill(traceSampling, 1);
+        // -Dnumina.trace.categories=energy:debug,network:trace
+        String categories = System.getProperty("numina.trace.categories");
+        if (TRACE_ENABLED && categories != null) {
+            for (String entry : categories.split(",")) {
+                String[] parts = entry.trim().split(":");
+                try {
+                    setTraceLevel(Category.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)),
+                            parts.length > 1 ? Level.toLevel(parts[1].trim(), Level.DEBUG) : Level.DEBUG);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Unknown trace category: " + entry);
+                }
+            }
+        }
+    }
+
     public static void logDebug(String string) {
         boolean debugging = true;
         try {
@@ -36,4 +83,49 @@ public final class MuseLogger {
         logger.warn(string);
         exception.printStackTrace();
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets the most detailed level traced for the category, {@link Level#OFF} turns it off.
+     */
+    public static void setTraceLevel(Category category, Level level) {
+        int[] levels = traceLevels.clone();
+        levels[category.ordinal()] = level.intLevel();
+        traceLevels = levels;
+    }
+
+    /**
+     * Only logs every n-th traced message of the category, for things that would otherwise log every tick.
+     */
+    public static void setTraceSampling(Category category, int everyNth) {
+        int[] sampling = traceSampling.clone();
+        sampling[category.ordinal()] = Math.max(1, everyNth);
+        traceSampling = sampling;
+    }
+
+    /**
+     * Whether messages of the category at the level are traced. Check this before building anything expensive for
+     * {@link #trace(Category, Level, String)}.
+     */
+    public static boolean isTracing(Category category, Level level) {
+        return TRACE_ENABLED && level.intLevel() <= traceLevels[category.ordinal()];
+    }
+
+    /**
+     * Logs the message if the category is traced at the level. The supplier is only called for messages that are
+     * actually logged.
+     */
+    public static void trace(Category category, Level level, Supplier<String> message) {
+        if (isTracing(category, level) && sample(category))
+            logger.info("[" + category + "] " + message.get());
+    }
+
+    public static void trace(Category category, Level level, String message) {
+        if (isTracing(category, level) && sample(category))
+            logger.info("[" + category + "] " + message);
+    }
+
+    private static boolean sample(Category category) {
+        int everyNth = traceSampling[category.ordinal()];
+        return everyNth <= 1 || (traceCounters.getAndIncrement(category.ordinal()) & Integer.MAX_VALUE) % everyNth == 0;
+    }
+}
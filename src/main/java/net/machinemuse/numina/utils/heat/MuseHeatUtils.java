@@ -1,11 +1,14 @@
 package net.machinemuse.numina.utils.heat;
 
+import net.machinemuse.numina.api.capability_ports.heat.IHeatStorage;
 import net.machinemuse.numina.capabilities.CapabilityHeat;
+import net.machinemuse.numina.player.SuitState;
 import net.machinemuse.numina.utils.item.NuminaItemUtils;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.DamageSource;
 
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -13,9 +16,8 @@ import java.util.List;
  *  calculate the temperature accordingly, but since this is a game where you can cut down a mountain with a pickaxe
  *  made of diamonds and sticks and then carry all of it in your pocket...
  *
- *  TODO: distribute heat evenly accross items rather than dumping all heat possible into each in succession
- *  TODO: also cool the same way
- *
+ *  Heat is spread over all heatable items in proportion to the heat each can still take, cooling in proportion to
+ *  the heat each holds, so the items fill up and cool down together.
  */
 public class MuseHeatUtils {
     /**
@@ -66,17 +68,17 @@ public class MuseHeatUtils {
 
 
     /**
-     * Gets all the equipped items that use the heat capability
+     * Gets all the equipped items that use the heat capability. Cached in the player's {@link SuitState}, don't modify.
      */
     public static List<ItemStack> getHeatableItemsEquipped(EntityPlayer player) {
-        return NuminaItemUtils.getEquipedItemsInInventoryWithCapabilities(player, CapabilityHeat.HEAT);
+        return SuitState.get(player).getHeatableItems();
     }
 
     /**
      * Gets all the items in the player's inventory that use the heat capability
      */
     public static List<ItemStack> getAllHeatableItems(EntityPlayer player) {
-        return NuminaItemUtils.getAllItemsInInventoryWithCapabilities(player, CapabilityHeat.HEAT);
+        return NuminaItemUtils.getStacksInSlots(player, SuitState.get(player).getInventoryIndex(player).getHeatSlots());
     }
 
     /**
@@ -101,22 +103,18 @@ public class MuseHeatUtils {
      * Total heat from all items in player's inventory
      */
     public static int getPlayerHeat(EntityPlayer player) {
-        int avail = 0;
-        for (ItemStack stack : getAllHeatableItems(player)) {
-            avail += getItemHeat(stack);
-        }
-        return avail;
+        BitSet heatSlots = SuitState.get(player).getInventoryIndex(player).getHeatSlots();
+        long avail = 0;
+        for (int slot = heatSlots.nextSetBit(0); slot >= 0; slot = heatSlots.nextSetBit(slot + 1))
+            avail += getItemHeat(player.inventory.getStackInSlot(slot));
+        return (int) Math.min(avail, Integer.MAX_VALUE);
     }
 
     /**
      * Total amount of heat the player's inventory can support. Used for the heat bar and other things.
      */
     public static int getMaxPlayerHeat(EntityPlayer player) {
-        int max = 0;
-        for (ItemStack itemStack :  getHeatableItemsEquipped(player)) {
-            max += itemStack.getCapability(CapabilityHeat.HEAT, null).getMaxHeatStored();
-        }
-        return max;
+        return SuitState.get(player).getMaxHeat();
     }
 
     /**
@@ -130,21 +128,17 @@ public class MuseHeatUtils {
      * Adds heat to the ItemStacks in the player's inventory. Returns quantity of heat that was accepted.
      */
     public static int heatPlayer(EntityPlayer player, int heatJoules) {
+        BitSet heatSlots = SuitState.get(player).getInventoryIndex(player).getHeatSlots();
         int joulesLeft = heatJoules;
-        List<ItemStack> items = getAllHeatableItems(player);
 
         // max out the heat for the current item first
-        if (player.isHandActive() && items.contains(player.inventory.getCurrentItem())) {
-            items.remove(player.inventory.getCurrentItem());
-            joulesLeft = heatItem(player.inventory.getCurrentItem(), heatJoules);
-        }
+        int currentSlot = player.inventory.currentItem;
+        boolean heatCurrentFirst = player.isHandActive() && heatSlots.get(currentSlot);
+        if (heatCurrentFirst)
+            joulesLeft -= heatItem(player.inventory.getStackInSlot(currentSlot), joulesLeft);
 
-        for (ItemStack itemStack :  items) {
-            if (joulesLeft > 0)
-                joulesLeft = joulesLeft - itemStack.getCapability(CapabilityHeat.HEAT, null).receiveHeat(joulesLeft, false);
-            else
-                break;
-        }
+        if (joulesLeft > 0)
+            joulesLeft -= distribute(player, heatSlots, heatCurrentFirst ? currentSlot : -1, joulesLeft, true);
         return heatJoules - joulesLeft;
     }
 
@@ -163,13 +157,51 @@ public class MuseHeatUtils {
      * @return Amount of heat that was extracted from the storage.
      */
     public static int coolPlayer(EntityPlayer player, int coolJoules) {
-        int coolJoulesLeft = coolJoules;
-        for (ItemStack itemStack : NuminaItemUtils.getAllItemsInInventoryWithCapabilities(player, CapabilityHeat.HEAT)) {
-            if (coolJoulesLeft > 0)
-                coolJoulesLeft = coolJoulesLeft - itemStack.getCapability(CapabilityHeat.HEAT, null).extractHeat(coolJoulesLeft, false);
-            else
-                break;
+        BitSet heatSlots = SuitState.get(player).getInventoryIndex(player).getHeatSlots();
+        return distribute(player, heatSlots, -1, coolJoules, false);
+    }
+
+    /**
+     * Water-filling over the heatable slots: each item gets a share of what's left in proportion to its remaining
+     * capacity (heating) or its current heat (cooling), in one pass. Shares are taken from what is still left, so the
+     * rounding ends up on the last item. Whatever an item refuses (transfer limits) is offered to the others afterwards.
+     *
+     * @return the amount of heat added or removed
+     */
+    private static int distribute(EntityPlayer player, BitSet heatSlots, int skipSlot, int joules, boolean heat) {
+        if (joules <= 0)
+            return 0;
+        long weightLeft = 0;
+        for (int slot = heatSlots.nextSetBit(0); slot >= 0; slot = heatSlots.nextSetBit(slot + 1)) {
+            if (slot != skipSlot)
+                weightLeft += heatWeight(player.inventory.getStackInSlot(slot).getCapability(CapabilityHeat.HEAT, null), heat);
+        }
+
+        int joulesLeft = joules;
+        for (int slot = heatSlots.nextSetBit(0); slot >= 0 && joulesLeft > 0 && weightLeft > 0; slot = heatSlots.nextSetBit(slot + 1)) {
+            if (slot == skipSlot)
+                continue;
+            IHeatStorage storage = player.inventory.getStackInSlot(slot).getCapability(CapabilityHeat.HEAT, null);
+            long weight = heatWeight(storage, heat);
+            int share = (int) Math.min((joulesLeft * weight + weightLeft - 1) / weightLeft, joulesLeft);
+            weightLeft -= weight;
+            if (share > 0)
+                joulesLeft -= heat ? storage.receiveHeat(share, false) : storage.extractHeat(share, false);
         }
-        return coolJoules - coolJoulesLeft;
+
+        for (int slot = heatSlots.nextSetBit(0); slot >= 0 && joulesLeft > 0; slot = heatSlots.nextSetBit(slot + 1)) {
+            if (slot == skipSlot)
+                continue;
+            IHeatStorage storage = player.inventory.getStackInSlot(slot).getCapability(CapabilityHeat.HEAT, null);
+            if (storage != null)
+                joulesLeft -= heat ? storage.receiveHeat(joulesLeft, false) : storage.extractHeat(joulesLeft, false);
+        }
+        return joules - joulesLeft;
+    }
+
+    private static long heatWeight(IHeatStorage storage, boolean heat) {
+        if (storage == null)
+            return 0;
+        return heat ? Math.max(0, (long) storage.getMaxHeatStored() - storage.getHeatStored()) : Math.max(0, storage.getHeatStored());
     }
 }
\ No newline at end of file
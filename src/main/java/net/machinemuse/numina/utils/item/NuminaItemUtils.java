@@ -1,5 +1,7 @@
 package net.machinemuse.numina.utils.item;
 
+import net.machinemuse.numina.capabilities.CapabilityHeat;
+import net.machinemuse.numina.player.SuitState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
@@ -7,6 +9,7 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.capabilities.Capability;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -27,6 +30,8 @@ public class NuminaItemUtils {
     }
 
     public static List<ItemStack> getAllItemsInInventoryWithCapabilities(EntityPlayer entityPlayer, Capability capability) {
+        if (capability == CapabilityHeat.HEAT)
+            return getStacksInSlots(entityPlayer, SuitState.get(entityPlayer).getInventoryIndex(entityPlayer).getHeatSlots());
         List<ItemStack> capablityStackList = new ArrayList<>();
         for(int i=0; i< entityPlayer.inventory.getSizeInventory(); i++) {
             ItemStack stack = entityPlayer.inventory.getStackInSlot(i);
@@ -36,6 +41,16 @@ public class NuminaItemUtils {
         return capablityStackList;
     }
 
+    /**
+     * Stacks in the given (indexed) slots of the player's inventory.
+     */
+    public static List<ItemStack> getStacksInSlots(EntityPlayer entityPlayer, BitSet slots) {
+        List<ItemStack> stacks = new ArrayList<>(slots.cardinality());
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1))
+            stacks.add(entityPlayer.inventory.getStackInSlot(slot));
+        return stacks;
+    }
+
     public static List<ItemStack> getEquipedItemsInInventoryWithCapabilities(EntityPlayer entityPlayer, Capability capability) {
         List<ItemStack> capablityStackList = new ArrayList<>();
         for (EntityEquipmentSlot slot : EntityEquipmentSlot.values()) {
@@ -1,8 +1,8 @@
 package net.machinemuse.numina.utils.module.helpers;
 
 import net.machinemuse.numina.api.module.ModuleManager;
+import net.machinemuse.numina.player.SuitState;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
-import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 
@@ -12,11 +12,7 @@ public class WeightHelper {
     }
 
     public static double getPlayerWeight(EntityPlayer player) {
-        double weight = 0;
-        for (ItemStack stack : MuseItemUtils.modularItemsEquipped(player)) {
-            weight += ModuleManager.getInstance().computeModularPropertyDouble(stack, MPSModuleConstants.WEIGHT);
-        }
-        return weight;
+        return SuitState.get(player).getTotalWeight();
     }
 
     public static double getWeightPenaltyRatio(double currentWeight, double capacity) {
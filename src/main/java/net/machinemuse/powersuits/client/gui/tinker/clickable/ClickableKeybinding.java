@@ -73,7 +73,7 @@ public class ClickableKeybinding extends ClickableButton {
             }
             ModuleManager.getInstance().toggleModuleForPlayer(player, module.getModule().getUnlocalizedName(), toggleval);
             MusePacketToggleRequest toggleRequest = new MusePacketToggleRequest(player, module.getModule().getUnlocalizedName(), toggleval);
-            PacketSender.sendToServer(toggleRequest);
+            PacketSender.queueToServer(toggleRequest);
         }
         toggleval = !toggleval;
     }
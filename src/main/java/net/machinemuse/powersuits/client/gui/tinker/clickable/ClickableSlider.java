@@ -4,7 +4,9 @@ import net.machinemuse.numina.math.MuseMathUtils;
 import net.machinemuse.numina.math.geometry.Colour;
 import net.machinemuse.numina.math.geometry.DrawableMuseRect;
 import net.machinemuse.numina.math.geometry.MusePoint2D;
+import net.machinemuse.numina.utils.MuseLogger;
 import net.machinemuse.numina.utils.render.MuseRenderer;
+import org.apache.logging.log4j.Level;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -25,9 +27,7 @@ public class ClickableSlider extends Clickable {
     final int cornersize = 3;
 
     public ClickableSlider(MusePoint2D pos, double width, String name) {
-        System.out.println("name: " + name);
-        System.out.println("width: " + width);
-        System.out.println("pos: " + pos);
+        MuseLogger.trace(MuseLogger.Category.GUI, Level.TRACE, () -> "name: " + name + ", width: " + width + ", pos: " + pos);
 
         this.pos = pos;
         this.width = width;
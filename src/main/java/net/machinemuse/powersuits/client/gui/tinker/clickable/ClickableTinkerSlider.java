@@ -2,6 +2,7 @@ package net.machinemuse.powersuits.client.gui.tinker.clickable;
 
 import net.machinemuse.numina.math.MuseMathUtils;
 import net.machinemuse.numina.math.geometry.MusePoint2D;
+import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.Constants;
 
@@ -30,8 +31,8 @@ public class ClickableTinkerSlider extends ClickableSlider {
         double xratio = MuseMathUtils.clampDouble(0.5 - (xval / width), 0, 1);
 
         if (moduleTag.hasKey(name, Constants.NBT.TAG_DOUBLE))
-            moduleTag.setDouble(name, xratio);
+            MuseItemUtils.setModuleDouble(moduleTag, name, xratio);
         else
-            moduleTag.setInteger(name, (int) (1000 * xratio));
+            MuseItemUtils.setModuleInteger(moduleTag, name, (int) (1000 * xratio));
     }
 }
\ No newline at end of file
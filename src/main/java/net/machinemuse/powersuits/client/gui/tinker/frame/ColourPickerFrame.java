@@ -77,7 +77,7 @@ public class ColourPickerFrame implements IGuiFrame {
             }
             EntityPlayerSP player = Minecraft.getMinecraft().player;
             if (player.world.isRemote) {
-                PacketSender.sendToServer(new MusePacketColourInfo((EntityPlayer)player, this.itemSelector.getSelectedItem().inventorySlot, this.colours()));
+                PacketSender.queueLatestToServer(new MusePacketColourInfo((EntityPlayer)player, this.itemSelector.getSelectedItem().inventorySlot, this.colours()), this.itemSelector.getSelectedItem().inventorySlot);
             }
             return (NBTTagIntArray) renderSpec.getTag("colours");
         }
@@ -91,7 +91,7 @@ public class ColourPickerFrame implements IGuiFrame {
         renderSpec.setTag("colours", (NBTBase)new NBTTagIntArray(newarray));
         EntityPlayerSP player = Minecraft.getMinecraft().player;
         if (player.world.isRemote) {
-            PacketSender.sendToServer(new MusePacketColourInfo((EntityPlayer)player, this.itemSelector.getSelectedItem().inventorySlot, this.colours()));
+            PacketSender.queueLatestToServer(new MusePacketColourInfo((EntityPlayer)player, this.itemSelector.getSelectedItem().inventorySlot, this.colours()), this.itemSelector.getSelectedItem().inventorySlot);
         }
         return (NBTTagIntArray) renderSpec.getTag("colours");
     }
@@ -123,7 +123,7 @@ public class ColourPickerFrame implements IGuiFrame {
                 colours()[selectedColour] = Colour.getInt(rslider.value(), gslider.value(), bslider.value(), 1.0);
                 EntityPlayerSP player = Minecraft.getMinecraft().player;
                 if (player.world.isRemote)
-                    PacketSender.sendToServer(new MusePacketColourInfo(player, itemSelector.getSelectedItem().inventorySlot, colours()));
+                    PacketSender.queueLatestToServer(new MusePacketColourInfo(player, itemSelector.getSelectedItem().inventorySlot, colours()), itemSelector.getSelectedItem().inventorySlot);
             }
         }
     }
@@ -206,7 +206,7 @@ public class ColourPickerFrame implements IGuiFrame {
 
                 EntityPlayerSP player = Minecraft.getMinecraft().player;
                 if (player.world.isRemote)
-                    PacketSender.sendToServer(new MusePacketColourInfo(player, itemSelector.getSelectedItem().inventorySlot, nbtTagIntArray.getIntArray()));
+                    PacketSender.queueLatestToServer(new MusePacketColourInfo(player, itemSelector.getSelectedItem().inventorySlot, nbtTagIntArray.getIntArray()), itemSelector.getSelectedItem().inventorySlot);
             }
         }
     }
@@ -8,6 +8,7 @@ import net.machinemuse.numina.math.geometry.Colour;
 import net.machinemuse.numina.math.geometry.MusePoint2D;
 import net.machinemuse.numina.network.MusePacket;
 import net.machinemuse.numina.network.PacketSender;
+import net.machinemuse.numina.utils.MuseLogger;
 import net.machinemuse.numina.utils.render.MuseRenderer;
 import net.machinemuse.numina.utils.string.MuseStringUtils;
 import net.machinemuse.powersuits.client.gui.tinker.clickable.ClickableItem;
@@ -18,6 +19,7 @@ import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import org.apache.logging.log4j.Level;
 import org.lwjgl.opengl.GL11;
 
 import java.util.*;
@@ -64,8 +66,7 @@ public class ModuleTweakFrame extends ScrollableFrame {
             propertyStringsInt = null;
         }
         if (selectedSlider != null) {
-            selectedSlider.value();
-            System.out.println("value: " + selectedSlider.value());
+            MuseLogger.trace(MuseLogger.Category.GUI, Level.TRACE, () -> "value: " + selectedSlider.value());
 
             selectedSlider.moveSlider(mousex, mousey);
         }
@@ -150,8 +151,7 @@ public class ModuleTweakFrame extends ScrollableFrame {
         int y = 0;
         for (String tweak : tweaks) {
 //            if (propertyStringsInt.containsKey(tweak)) {
-                System.out.println("tweak: " + tweak);
-                System.out.println("x: " + ((border.left() + border.right()) / 2));
+                MuseLogger.trace(MuseLogger.Category.GUI, Level.TRACE, () -> "tweak: " + tweak + ", x: " + ((border.left() + border.right()) / 2));
 
 //            }
 
@@ -1,6 +1,8 @@
 package net.machinemuse.powersuits.client.helper;
 
+import net.machinemuse.numina.utils.MuseLogger;
 import net.minecraftforge.common.model.TRSRTransformation;
+import org.apache.logging.log4j.Level;
 import org.lwjgl.input.Keyboard;
 
 public class ModelTransformCalibration {
@@ -114,11 +116,9 @@ public class ModelTransformCalibration {
             }
 
             if (Keyboard.isKeyDown(Keyboard.KEY_NUMPAD0)) {
-                System.out.println("xrot: " + xtap + ", yrot: " + ytap + ", zrot: " + ztap);
-
-                System.out.println("xOffest: " + xOffest + ", yOffest: " + yOffest + ", zOffest: " + zOffest);
-
-                System.out.println("scaleModifier: " + scalemodifier);
+                MuseLogger.trace(MuseLogger.Category.RENDER, Level.INFO, "xrot: " + xtap + ", yrot: " + ytap + ", zrot: " + ztap);
+                MuseLogger.trace(MuseLogger.Category.RENDER, Level.INFO, "xOffest: " + xOffest + ", yOffest: " + yOffest + ", zOffest: " + zOffest);
+                MuseLogger.trace(MuseLogger.Category.RENDER, Level.INFO, "scaleModifier: " + scalemodifier);
 
                 tap = true;
             }
@@ -2,6 +2,7 @@ package net.machinemuse.powersuits.client.render.modelspec;
 
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.math.geometry.Colour;
+import net.machinemuse.numina.utils.MuseLogger;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
 import net.machinemuse.powersuits.api.constants.MPSNBTConstants;
 import net.machinemuse.powersuits.common.config.MPSConfig;
@@ -15,6 +16,7 @@ import net.minecraft.nbt.NBTTagList;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.logging.log4j.Level;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -151,7 +153,7 @@ public class DefaultModelSpec {
 
         nbt.setTag("colours", new NBTTagIntArray(colours));
 
-        System.out.println("nbt: " + nbt.toString());
+        MuseLogger.trace(MuseLogger.Category.RENDER, Level.DEBUG, () -> "nbt: " + nbt);
 
 
 
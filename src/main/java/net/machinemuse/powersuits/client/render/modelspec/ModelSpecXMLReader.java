@@ -16,6 +16,7 @@ import net.minecraftforge.common.model.IModelState;
 import net.minecraftforge.common.model.TRSRTransformation;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
+import org.apache.logging.log4j.Level;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -216,10 +217,7 @@ public class ModelSpecXMLReader {
         boolean glow = Boolean.parseBoolean(partSpecElement.getAttribute("defaultglow"));
         Colour colour = parseColour(partSpecElement.getAttribute("defaultcolor"));
         if (partname == null) {
-            System.out.println("partName is NULL!!");
-            System.out.println("ModelSpec model: " + modelSpec.getName());
-            System.out.println("glow: " + glow);
-            System.out.println("colour: " + colour.hexColour());
+            MuseLogger.trace(MuseLogger.Category.RENDER, Level.WARN, () -> "partName is NULL!! ModelSpec model: " + modelSpec.getName() + ", glow: " + glow + ", colour: " + colour.hexColour());
         } else
             modelSpec.put(partname, new ModelPartSpec(modelSpec,
                     binding,
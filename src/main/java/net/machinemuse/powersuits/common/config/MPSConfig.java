@@ -20,6 +20,7 @@ import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 import net.minecraftforge.oredict.OreDictionary;
+import org.apache.logging.log4j.Level;
 import org.lwjgl.input.Keyboard;
 
 import java.io.*;
@@ -256,7 +257,7 @@ public class MPSConfig {
         if (MPSSettings.getServerSettings() != null) {
             if (!MPSSettings.getServerSettings().allowedModules.containsKey(name)) {
                 MPSSettings.getServerSettings().allowedModules.put(name, allowed);
-                System.out.println("Module not found in server config: " + name);
+                MuseLogger.trace(MuseLogger.Category.CONFIG, Level.DEBUG, () -> "Module not found in server config: " + name);
             }
             return MPSSettings.getServerSettings().allowedModules.get(name);
 
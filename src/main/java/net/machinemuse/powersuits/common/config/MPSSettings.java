@@ -34,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.logging.log4j.Level;
 import static net.machinemuse.powersuits.api.constants.MPSModConstants.MODID;
 
 //@Config(modid = MODID, name = MPSConfigConstants.CONFIG_FILE, category = "")
@@ -459,8 +460,7 @@ public class MPSSettings {
         public Map<String, Double> propertyDouble = new HashMap<>();
 
         public double getPropertyDoubleOrDefault(String name, double value) {
-            System.out.println("property: " + name);
-            System.out.println("value: " + value);
+            MuseLogger.trace(MuseLogger.Category.CONFIG, Level.TRACE, () -> "property: " + name + ", value: " + value);
 
             if (propertyDouble.isEmpty() ||!propertyDouble.containsKey(name))
                 propertyDouble.put(name, value);
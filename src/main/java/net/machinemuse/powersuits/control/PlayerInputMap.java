@@ -1,20 +1,19 @@
 package net.machinemuse.powersuits.control;
 
+import io.netty.buffer.ByteBuf;
+
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerInputMap {
-	protected static final Map<String, PlayerInputMap> playerInputs = new HashMap();
+	// in singleplayer the client and the server thread both use this
+	protected static final Map<String, PlayerInputMap> playerInputs = new ConcurrentHashMap<>();
 
 	public static PlayerInputMap getInputMapFor(String playerName) {
-		PlayerInputMap map = playerInputs.get(playerName);
-		if (map == null) {
-			map = new PlayerInputMap(playerName);
-		}
-		return map;
+		return playerInputs.computeIfAbsent(playerName, PlayerInputMap::new);
 	}
 
 	public PlayerInputMap lastSentMap;
@@ -32,11 +31,16 @@ public class PlayerInputMap {
 		this.setTo(master);
 	}
 
-	public PlayerInputMap(String playerName) {
-		playerInputs.put(playerName, this);
+	private PlayerInputMap(String playerName) {
 		lastSentMap = new PlayerInputMap(this);
 	}
 
+	/**
+	 * A map that isn't anyone's inputs, for values read off the network before they're applied on the main thread.
+	 */
+	public PlayerInputMap() {
+	}
+
 	public boolean writeToStream(DataOutputStream stream) {
 		try {
 			stream.writeFloat(forwardKey);
@@ -54,6 +58,17 @@ public class PlayerInputMap {
 		}
 	}
 
+	public void writeToBuffer(ByteBuf buffer) {
+		buffer.writeFloat(forwardKey);
+		buffer.writeFloat(strafeKey);
+		buffer.writeBoolean(jumpKey);
+		buffer.writeBoolean(sneakKey);
+		buffer.writeBoolean(downKey);
+		buffer.writeDouble(motionX);
+		buffer.writeDouble(motionY);
+		buffer.writeDouble(motionZ);
+	}
+
 	public boolean readFromStream(DataInputStream stream) {
 		try {
 			forwardKey = stream.readFloat();
@@ -17,6 +17,6 @@ public class PlayerLoginHandlerThingy {
     @SubscribeEvent
     public static void onPlayerLogin(PlayerEvent.PlayerLoggedInEvent e) {
         EntityPlayer player = e.player;
-        PacketSender.sendTo(new MusePacketPropertyModifierConfig(player, null), (EntityPlayerMP)player);
+        PacketSender.sendTo(new MusePacketPropertyModifierConfig(player), (EntityPlayerMP)player);
     }
 }
\ No newline at end of file
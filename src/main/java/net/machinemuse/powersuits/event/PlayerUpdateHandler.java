@@ -5,12 +5,13 @@ import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.client.sound.Musique;
 import net.machinemuse.numina.common.config.NuminaConfig;
 import net.machinemuse.numina.math.MuseMathUtils;
+import net.machinemuse.numina.player.EnergyLedger;
+import net.machinemuse.numina.player.SuitState;
 import net.machinemuse.numina.utils.heat.MuseHeatUtils;
-import net.machinemuse.numina.utils.module.helpers.WeightHelper;
 import net.machinemuse.powersuits.client.sound.SoundDictionary;
 import net.machinemuse.powersuits.common.config.MPSConfig;
-import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.machinemuse.powersuits.utils.MusePlayerUtils;
+import net.machinemuse.utils.ElectricItemUtils;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
@@ -19,6 +20,7 @@ import net.minecraft.util.SoundCategory;
 import net.minecraftforge.event.entity.living.LivingEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -27,13 +29,22 @@ import java.util.List;
  * Ported to Java by lehjr on 10/24/16.
  */
 public class PlayerUpdateHandler {
+    /**
+     * Whether work that runs once every {@code period} ticks is due for this player on the current tick. Players are
+     * spread over the period by entity id, so periodic work doesn't all land on the same server tick.
+     */
+    public static boolean isTickDue(EntityPlayer player, int period) {
+        return period <= 1 || (player.world.getTotalWorldTime() + (player.getEntityId() & Integer.MAX_VALUE)) % period == 0;
+    }
+
     @SubscribeEvent
     public void onPlayerUpdate(LivingEvent.LivingUpdateEvent e) {
         if (e.getEntity() instanceof EntityPlayer) {
             EntityPlayer player = (EntityPlayer) e.getEntity();
 
-            List<ItemStack> modularItemsEquipped = MuseItemUtils.modularItemsEquipped(player);
-            double totalWeight = WeightHelper.getPlayerWeight(player);
+            SuitState suitState = SuitState.get(player);
+            List<ItemStack> modularItemsEquipped = suitState.getModularItems();
+            double totalWeight = suitState.getTotalWeight();
             double weightCapacity = MPSConfig.getInstance().getWeightCapacity();
 
             for (ItemStack stack : modularItemsEquipped) {
@@ -59,22 +70,41 @@ public class PlayerUpdateHandler {
                 }
             }
 
-            boolean foundItemWithModule;
-            for (IPlayerTickModule module : ModuleManager.getInstance().getPlayerTickModules()) {
-                foundItemWithModule = false;
-                for (ItemStack itemStack : modularItemsEquipped) {
-                    if (module.isValidForItem(itemStack)) {
-                        if (ModuleManager.getInstance().itemHasActiveModule(itemStack, module.getUnlocalizedName())) {
-                            module.onPlayerTickActive(player, itemStack);
-                            foundItemWithModule = true;
+            // which tick modules run, active or inactive, is cached with the suit state
+            List<IPlayerTickModule> tickModules = ModuleManager.getInstance().getPlayerTickModules();
+            BitSet[] activeByItem = suitState.getActiveTickModulesByItem();
+            BitSet activeOnAnyItem = suitState.getActiveTickModules();
+            BitSet inactiveOnAllItems = suitState.getInactiveTickModules();
+            int itemCount = modularItemsEquipped.size();
+
+            // energy used by the modules is settled once, after all of them ran
+            EnergyLedger energyLedger = suitState.getEnergyLedger();
+            ElectricItemUtils.openEnergyLedger(player);
+            try {
+                int nextActive = activeOnAnyItem.nextSetBit(0);
+                int nextInactive = inactiveOnAllItems.nextSetBit(0);
+                // both sets are walked together, so modules still run in registration order
+                while (nextActive >= 0 || nextInactive >= 0) {
+                    if (nextInactive < 0 || (nextActive >= 0 && nextActive < nextInactive)) {
+                        IPlayerTickModule module = tickModules.get(nextActive);
+                        if (isTickDue(player, module.getTickPeriod())) {
+                            energyLedger.setSource(module.getUnlocalizedName());
+                            for (int j = 0; j < itemCount; j++) {
+                                if (activeByItem[j].get(nextActive))
+                                    module.onPlayerTickActive(player, modularItemsEquipped.get(j));
+                            }
                         }
+                        nextActive = activeOnAnyItem.nextSetBit(nextActive + 1);
+                    } else {
+                        IPlayerTickModule module = tickModules.get(nextInactive);
+                        energyLedger.setSource(module.getUnlocalizedName());
+                        for (int j = 0; j < itemCount; j++)
+                            module.onPlayerTickInactive(player, modularItemsEquipped.get(j));
+                        nextInactive = inactiveOnAllItems.nextSetBit(nextInactive + 1);
                     }
                 }
-                if (!foundItemWithModule) {
-                    for (ItemStack itemStack : modularItemsEquipped) {
-                        module.onPlayerTickInactive(player, itemStack);
-                    }
-                }
+            } finally {
+                ElectricItemUtils.commitEnergyLedger(player);
             }
 
             boolean foundItem = modularItemsEquipped.size() > 0;
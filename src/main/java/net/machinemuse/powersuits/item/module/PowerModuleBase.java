@@ -4,6 +4,7 @@ import net.machinemuse.numina.api.constants.NuminaModuleConstants;
 import net.machinemuse.numina.api.item.IMuseItem;
 import net.machinemuse.numina.api.module.EnumModuleTarget;
 import net.machinemuse.numina.api.module.IModule;
+import net.machinemuse.numina.api.module.ModularPropertyCache;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.api.nbt.*;
 import net.machinemuse.powersuits.api.constants.MPSModConstants;
@@ -23,6 +24,11 @@ import java.util.*;
 public abstract class PowerModuleBase extends Item implements IModule {
     protected List<ItemStack> defaultInstallCost;
     protected Map<String, List<IPropertyModifier>> propertyModifiers;
+    // flat, unboxed copies of propertyModifiers used when folding values
+    protected Map<String, IPropertyModifierDoublePrimitive[]> doubleModifiers;
+    protected Map<String, IPropertyModifierIntegerPrimitive[]> intModifiers;
+    // double properties whose modifiers are all linear, reduced to a constant plus one coefficient per tradeoff
+    protected Map<String, CompiledPropertyModifierDouble> compiledDoubleModifiers;
     protected static Map<String, String> units = new HashMap<>();
     protected NBTTagCompound defaultTag;
     protected boolean isAllowed;
@@ -35,6 +41,9 @@ public abstract class PowerModuleBase extends Item implements IModule {
         this.setUnlocalizedName(unlocalizedName);
         this.defaultInstallCost = new ArrayList();
         this.propertyModifiers = new HashMap();
+        this.doubleModifiers = new HashMap<>();
+        this.intModifiers = new HashMap<>();
+        this.compiledDoubleModifiers = new HashMap<>();
         this.defaultTag = new NBTTagCompound();
         this.defaultTag.setBoolean(NuminaModuleConstants.ONLINE, true);
         this.isAllowed = MPSConfig.getInstance().getModuleAllowedorDefault(getUnlocalizedName(), true);
@@ -139,6 +148,7 @@ public abstract class PowerModuleBase extends Item implements IModule {
 
     public void setIsAllowed(boolean allowed) {
         this.isAllowed = allowed;
+        ModularPropertyCache.invalidateAll();
     }
 
     public PowerModuleBase addPropertyModifier(String propertyName, IPropertyModifier modifier) {
@@ -148,19 +158,49 @@ public abstract class PowerModuleBase extends Item implements IModule {
             propertyModifiers.put(propertyName, modifiers);
         }
         modifiers.add(modifier);
+        if (modifier instanceof IPropertyModifierDouble) {
+            IPropertyModifierDoublePrimitive[] array = doubleModifiers.getOrDefault(propertyName, new IPropertyModifierDoublePrimitive[0]);
+            array = Arrays.copyOf(array, array.length + 1);
+            array[array.length - 1] = PropertyModifierAdapters.toPrimitive((IPropertyModifierDouble) modifier);
+            doubleModifiers.put(propertyName, array);
+            compilePropertyModifiers(propertyName);
+        }
+        if (modifier instanceof IPropertyModifierInteger) {
+            IPropertyModifierIntegerPrimitive[] array = intModifiers.getOrDefault(propertyName, new IPropertyModifierIntegerPrimitive[0]);
+            array = Arrays.copyOf(array, array.length + 1);
+            array[array.length - 1] = PropertyModifierAdapters.toPrimitive((IPropertyModifierInteger) modifier);
+            intModifiers.put(propertyName, array);
+        }
         return this;
     }
 
+    /**
+     * Rebuilds the compiled form of every double property. Needs to be called if modifier values are changed in
+     * place, like when the server config is synced to the client.
+     */
+    public void compilePropertyModifiers() {
+        for (String propertyName : doubleModifiers.keySet()) {
+            compilePropertyModifiers(propertyName);
+        }
+    }
+
+    protected void compilePropertyModifiers(String propertyName) {
+        CompiledPropertyModifierDouble compiled = CompiledPropertyModifierDouble.compile(doubleModifiers.get(propertyName));
+        if (compiled != null)
+            compiledDoubleModifiers.put(propertyName, compiled);
+        else
+            compiledDoubleModifiers.remove(propertyName);
+    }
+
     /** Integer ----------------------------------------------------------------------------------- */
     @Nullable
     @Override
     public int applyPropertyModifiersInt(NBTTagCompound itemTag, String propertyName, int propertyValue) {
-        Iterable<IPropertyModifier> propertyModifiersIterable = propertyModifiers.get(propertyName);
-        if (propertyModifiersIterable != null && itemTag.hasKey(this.getUnlocalizedName())) {
+        IPropertyModifierIntegerPrimitive[] modifiers = intModifiers.get(propertyName);
+        if (modifiers != null && itemTag.hasKey(this.getUnlocalizedName())) {
             NBTTagCompound moduleTag = itemTag.getCompoundTag(this.getUnlocalizedName());
-            for (IPropertyModifier modifier : propertyModifiersIterable) {
-                if (modifier instanceof IPropertyModifierInteger)
-                    propertyValue = ((IPropertyModifierInteger) modifier).applyModifier(moduleTag, propertyValue);
+            for (IPropertyModifierIntegerPrimitive modifier : modifiers) {
+                propertyValue = modifier.applyPrimitiveModifier(moduleTag, propertyValue);
             }
         }
         return propertyValue;
@@ -210,17 +250,14 @@ public abstract class PowerModuleBase extends Item implements IModule {
     @Nullable
     @Override
     public double applyPropertyModifiersDouble(NBTTagCompound itemTag, String propertyName, double propertyValue) {
-        System.out.println("itemTag: " + itemTag);
-        System.out.println("propertyName: " + propertyName + "   propertyValue: " + propertyValue);
-
-
-
-        Iterable<IPropertyModifier> propertyModifiersIterable = propertyModifiers.get(propertyName);
-        if (propertyModifiersIterable != null && itemTag.hasKey(this.getUnlocalizedName())) {
+        IPropertyModifierDoublePrimitive[] modifiers = doubleModifiers.get(propertyName);
+        if (modifiers != null && itemTag.hasKey(this.getUnlocalizedName())) {
             NBTTagCompound moduleTag = itemTag.getCompoundTag(this.getUnlocalizedName());
-            for (IPropertyModifier modifier : propertyModifiersIterable) {
-                if (modifier instanceof IPropertyModifierDouble)
-                    propertyValue = ((IPropertyModifierDouble) modifier).applyModifier(moduleTag, propertyValue);
+            CompiledPropertyModifierDouble compiled = compiledDoubleModifiers.get(propertyName);
+            if (compiled != null)
+                return compiled.applyPrimitiveModifier(moduleTag, propertyValue);
+            for (IPropertyModifierDoublePrimitive modifier : modifiers) {
+                propertyValue = modifier.applyPrimitiveModifier(moduleTag, propertyValue);
             }
         }
         return propertyValue;
@@ -3,6 +3,7 @@ package net.machinemuse.powersuits.item.module.debug;
 import net.machinemuse.item.powersuits.module.PowerModuleBase;
 import net.machinemuse.numina.api.module.EnumModuleTarget;
 import net.machinemuse.numina.api.module.IRightClickModule;
+import net.machinemuse.numina.utils.MuseLogger;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
@@ -14,6 +15,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandler;
+import org.apache.logging.log4j.Level;
 
 /**
  * This module is used for debugging and may change
@@ -49,12 +51,12 @@ public class DebugModule extends PowerModuleBase implements IRightClickModule {
 
     @Override
     public ActionResult onItemRightClick(ItemStack itemStackIn, World worldIn, EntityPlayer playerIn, EnumHand hand) {
-        System.out.println("Doing something here");
+        MuseLogger.trace(MuseLogger.Category.MODULES, Level.DEBUG, "Doing something here");
 
         IItemHandler inventoryHandler = itemStackIn.getCapability(CapabilityItemHandler.ITEM_HANDLER_CAPABILITY, null);
 
         if(inventoryHandler !=null) {
-            System.out.println("doing something here");
+            MuseLogger.trace(MuseLogger.Category.MODULES, Level.DEBUG, "doing something here");
 
 
             if (inventoryHandler.getSlots() > 0) {
@@ -81,7 +83,7 @@ public class DebugModule extends PowerModuleBase implements IRightClickModule {
                         }
                 }
             }
-        } else System.out.println("Power fist does not have capability");
+        } else MuseLogger.trace(MuseLogger.Category.MODULES, Level.DEBUG, "Power fist does not have capability");
         return new ActionResult(EnumActionResult.SUCCESS, itemStackIn);
     }
 
@@ -43,6 +43,11 @@ public class AdvancedSolarGenerator extends PowerModuleBase implements IPlayerTi
         return MPSModuleConstants.CATEGORY_ENERGY;
     }
 
+    @Override
+    public int getTickPeriod() {
+        return 80;
+    }
+
     @Override
     public void onPlayerTickActive(EntityPlayer player, ItemStack item) {
         ItemStack helmet = player.getItemStackFromSlot(EntityEquipmentSlot.HEAD);
@@ -50,14 +55,11 @@ public class AdvancedSolarGenerator extends PowerModuleBase implements IPlayerTi
             World world = player.world;
             int xCoord = MathHelper.floor(player.posX);
             int zCoord = MathHelper.floor(player.posZ);
-            boolean isRaining, canRain = true;
-            if (world.getTotalWorldTime() % 20 == 0) {
-                canRain = world.getBiome(player.getPosition()).canRain();
-            }
+            boolean isRaining, canRain = world.getBiome(player.getPosition()).canRain();
             isRaining = canRain && (world.isRaining() || world.isThundering());
             boolean sunVisible = world.isDaytime() && !isRaining && world.canBlockSeeSky(player.getPosition().add(0,1,0));
             boolean moonVisible = !world.isDaytime() && !isRaining && world.canBlockSeeSky(player.getPosition().add(0,1,0));
-            if (!world.isRemote && world.provider.hasSkyLight() && (world.getTotalWorldTime() % 80) == 0) {
+            if (!world.isRemote && world.provider.hasSkyLight()) {
                 if (sunVisible) {
                     ElectricItemUtils.givePlayerEnergy(player, ModuleManager.getInstance().computeModularPropertyInteger(item, A_SOLAR_ENERGY_GENERATION_DAY));
                     MuseHeatUtils.heatPlayerLegacy(player, ModuleManager.getInstance().computeModularPropertyDouble(item, SOLAR_HEAT_GENERATION_DAY) / 2);
@@ -73,6 +75,11 @@ public class AdvancedSolarGenerator extends PowerModuleBase implements IPlayerTi
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.advSolarGenerator;
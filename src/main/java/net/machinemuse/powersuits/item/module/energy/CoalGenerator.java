@@ -63,6 +63,11 @@ public class CoalGenerator extends PowerModuleBase implements IPlayerTickModule,
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public String getCategory() {
         return MPSModuleConstants.CATEGORY_ENERGY;
@@ -65,6 +65,11 @@ public class KineticGeneratorModule extends PowerModuleBase implements IPlayerTi
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.kineticGenerator;
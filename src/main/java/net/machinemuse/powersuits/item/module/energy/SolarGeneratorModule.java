@@ -33,6 +33,11 @@ public class SolarGeneratorModule extends PowerModuleBase implements IPlayerTick
         return MPSModuleConstants.CATEGORY_ENERGY;
     }
 
+    @Override
+    public int getTickPeriod() {
+        return 80;
+    }
+
     @Override
     public void onPlayerTickActive(EntityPlayer player, ItemStack item) {
         ItemStack helmet = player.getItemStackFromSlot(EntityEquipmentSlot.HEAD);
@@ -40,15 +45,12 @@ public class SolarGeneratorModule extends PowerModuleBase implements IPlayerTick
             World world = player.world;
             int xCoord = MathHelper.floor(player.posX);
             int zCoord = MathHelper.floor(player.posZ);
-            boolean isRaining, canRain = true;
-            if (world.getTotalWorldTime() % 20 == 0) {
-                canRain = world.getBiome(player.getPosition()).canRain();
-            }
+            boolean isRaining, canRain = world.getBiome(player.getPosition()).canRain();
 
             isRaining = canRain && (world.isRaining() || world.isThundering());
             boolean sunVisible = world.isDaytime() && !isRaining && world.canBlockSeeSky(player.getPosition().add(0,1,0));
             boolean moonVisible = !world.isDaytime() && !isRaining && world.canBlockSeeSky(player.getPosition().add(0,1,0));
-            if (!world.isRemote && world.provider.hasSkyLight() && (world.getTotalWorldTime() % 80) == 0) {
+            if (!world.isRemote && world.provider.hasSkyLight()) {
                 if (sunVisible) {
                     ElectricItemUtils.givePlayerEnergy(player, ModuleManager.getInstance().computeModularPropertyInteger(item, SOLAR_ENERGY_GENERATION_DAY));
                 } else if (moonVisible) {
@@ -62,6 +64,11 @@ public class SolarGeneratorModule extends PowerModuleBase implements IPlayerTick
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.solarGenerator;
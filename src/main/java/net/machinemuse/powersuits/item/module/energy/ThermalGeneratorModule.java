@@ -43,18 +43,21 @@ public class ThermalGeneratorModule extends PowerModuleBase implements IPlayerTi
         return MPSModuleConstants.CATEGORY_ENERGY;
     }
 
+    @Override
+    public int getTickPeriod() {
+        return 20;
+    }
+
     @Override
     public void onPlayerTickActive(EntityPlayer player, ItemStack item) {
         double currentHeat = MuseHeatUtils.getPlayerHeatLegacy(player);
         double maxHeat = MuseHeatUtils.getMaxHeatLegacy(player);
-        if (player.world.getTotalWorldTime() % 20 == 0) {
-            if (player.isBurning()) {
-                ElectricItemUtils.givePlayerEnergy(player, 4 * ModuleManager.getInstance().computeModularPropertyInteger(item, THERMAL_ENERGY_GENERATION));
-            } else if (currentHeat >= 200) {
-                ElectricItemUtils.givePlayerEnergy(player, 2 * ModuleManager.getInstance().computeModularPropertyInteger(item, THERMAL_ENERGY_GENERATION));
-            } else if ((currentHeat / maxHeat) >= 0.5) {
-                ElectricItemUtils.givePlayerEnergy(player, ModuleManager.getInstance().computeModularPropertyInteger(item, THERMAL_ENERGY_GENERATION));
-            }
+        if (player.isBurning()) {
+            ElectricItemUtils.givePlayerEnergy(player, 4 * ModuleManager.getInstance().computeModularPropertyInteger(item, THERMAL_ENERGY_GENERATION));
+        } else if (currentHeat >= 200) {
+            ElectricItemUtils.givePlayerEnergy(player, 2 * ModuleManager.getInstance().computeModularPropertyInteger(item, THERMAL_ENERGY_GENERATION));
+        } else if ((currentHeat / maxHeat) >= 0.5) {
+            ElectricItemUtils.givePlayerEnergy(player, ModuleManager.getInstance().computeModularPropertyInteger(item, THERMAL_ENERGY_GENERATION));
         }
     }
 
@@ -62,6 +65,11 @@ public class ThermalGeneratorModule extends PowerModuleBase implements IPlayerTi
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.thermalGenerator;
@@ -4,6 +4,7 @@ import net.machinemuse.item.powersuits.module.PowerModuleBase;
 import net.machinemuse.numina.api.module.EnumModuleTarget;
 import net.machinemuse.numina.api.module.IPlayerTickModule;
 import net.machinemuse.numina.api.module.IToggleableModule;
+import net.machinemuse.numina.api.module.ModularProperty;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.utils.module.helpers.AutoFeederHelper;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
@@ -21,6 +22,9 @@ import net.minecraft.util.FoodStats;
 public class AutoFeederModule extends PowerModuleBase implements IToggleableModule, IPlayerTickModule {
     public static final String EATING_ENERGY_CONSUMPTION = "Eating Energy Consumption";
     public static final String EATING_EFFICIENCY = "Auto-Feeder Efficiency";
+    private static final ModularProperty[] FEEDER_PROPERTIES = {
+            ModuleManager.getInstance().getProperty(EATING_ENERGY_CONSUMPTION),
+            ModuleManager.getInstance().getProperty(EATING_EFFICIENCY)};
 
     public AutoFeederModule(String resourceDommain, String UnlocalizedName) {
         super(EnumModuleTarget.HEADONLY, resourceDommain, UnlocalizedName);
@@ -37,8 +41,9 @@ public class AutoFeederModule extends PowerModuleBase implements IToggleableModu
         double foodLevel = AutoFeederHelper.getFoodLevel(item);
         double saturationLevel = AutoFeederHelper.getSaturationLevel(item);
         IInventory inv = player.inventory;
-        double eatingEnergyConsumption = ModuleManager.getInstance().computeModularPropertyDouble(item, EATING_ENERGY_CONSUMPTION);
-        double efficiency = ModuleManager.getInstance().computeModularPropertyDouble(item, EATING_EFFICIENCY);
+        double[] feeder = ModuleManager.getInstance().computeModularPropertiesDouble(item, FEEDER_PROPERTIES);
+        double eatingEnergyConsumption = feeder[0];
+        double efficiency = feeder[1];
         FoodStats foodStats = player.getFoodStats();
         int foodNeeded = 20 - foodStats.getFoodLevel();
         double saturationNeeded = 20 - foodStats.getSaturationLevel();
@@ -149,6 +154,11 @@ public class AutoFeederModule extends PowerModuleBase implements IToggleableModu
 
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public String getCategory() {
         return MPSModuleConstants.CATEGORY_ENVIRONMENTAL;
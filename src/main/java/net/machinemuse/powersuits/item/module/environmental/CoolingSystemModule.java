@@ -45,6 +45,11 @@ public class CoolingSystemModule extends PowerModuleBase implements IPlayerTickM
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.coolingSystem;
@@ -43,6 +43,11 @@ public class MechanicalAssistance extends PowerModuleBase implements IPlayerTick
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.mechAssistance;
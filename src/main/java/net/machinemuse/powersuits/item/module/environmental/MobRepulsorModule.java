@@ -8,6 +8,7 @@ import net.machinemuse.numina.api.module.IToggleableModule;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
 import net.machinemuse.powersuits.client.event.MuseIcon;
+import net.machinemuse.powersuits.event.PlayerUpdateHandler;
 import net.machinemuse.powersuits.item.ItemComponent;
 import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.machinemuse.utils.ElectricItemUtils;
@@ -49,7 +50,7 @@ public class MobRepulsorModule extends PowerModuleBase implements IPlayerTickMod
     @Override
     public void onPlayerTickActive(EntityPlayer player, ItemStack item) {
         if (ElectricItemUtils.getPlayerEnergy(player) > ModuleManager.getInstance().computeModularPropertyInteger(item, MOB_REPULSOR_ENERGY_CONSUMPTION)) {
-            if (player.world.getTotalWorldTime() % 20 == 0) {
+            if (PlayerUpdateHandler.isTickDue(player, 20)) {
                 ElectricItemUtils.drainPlayerEnergy(player, ModuleManager.getInstance().computeModularPropertyInteger(item, MOB_REPULSOR_ENERGY_CONSUMPTION));
             }
             repulse(player.world, (int) player.posX, (int) player.posY, (int) player.posZ);
@@ -60,6 +61,11 @@ public class MobRepulsorModule extends PowerModuleBase implements IPlayerTickMod
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     public void repulse(World world, int i, int j, int k) {
         float distance = 5.0F;
         Entity entity;
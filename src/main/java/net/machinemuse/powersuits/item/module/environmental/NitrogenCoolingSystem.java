@@ -45,6 +45,11 @@ public class NitrogenCoolingSystem extends PowerModuleBase implements IPlayerTic
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public String getCategory() {
         return MPSModuleConstants.CATEGORY_ENVIRONMENTAL;
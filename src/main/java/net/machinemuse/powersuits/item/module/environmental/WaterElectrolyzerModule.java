@@ -51,6 +51,11 @@ public class WaterElectrolyzerModule extends PowerModuleBase implements IPlayerT
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.waterElectrolyzer;
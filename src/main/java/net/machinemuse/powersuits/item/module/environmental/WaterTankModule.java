@@ -7,6 +7,7 @@ import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.utils.heat.MuseHeatUtils;
 import net.machinemuse.numina.utils.module.helpers.FluidUtils;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
+import net.machinemuse.powersuits.event.PlayerUpdateHandler;
 import net.machinemuse.powersuits.item.ItemComponent;
 import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.minecraft.block.Block;
@@ -68,7 +69,7 @@ public class WaterTankModule extends PowerModuleBase implements IPlayerTickModul
         int zCoord = MathHelper.floor(player.posZ);
         boolean isRaining = (player.world.getBiomeForCoordsBody(player.getPosition()).getRainfall() > 0) && (player.world.isRaining() || player.world.isThundering());
         if (isRaining && player.world.canBlockSeeSky(player.getPosition().add(0,1,0))
-                && (player.world.getTotalWorldTime() % 5) == 0 && FluidUtils.getWaterLevel(item) < ModuleManager.getInstance().computeModularPropertyDouble(item, WATER_TANK_SIZE)) {
+                && PlayerUpdateHandler.isTickDue(player, 5) && FluidUtils.getWaterLevel(item) < ModuleManager.getInstance().computeModularPropertyDouble(item, WATER_TANK_SIZE)) {
             FluidUtils.setWaterLevel(item, FluidUtils.getWaterLevel(item) + 1);
         }
 
@@ -87,4 +88,9 @@ public class WaterTankModule extends PowerModuleBase implements IPlayerTickModul
     @Override
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
+
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
 }
\ No newline at end of file
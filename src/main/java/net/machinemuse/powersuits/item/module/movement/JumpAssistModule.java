@@ -54,6 +54,11 @@ public class JumpAssistModule extends PowerModuleBase implements IToggleableModu
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.jumpAssist;
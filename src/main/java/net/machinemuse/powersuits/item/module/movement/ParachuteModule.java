@@ -55,6 +55,11 @@ public class ParachuteModule extends PowerModuleBase implements IToggleableModul
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.parachute;
@@ -8,6 +8,7 @@ import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.api.nbt.PropertyModifierIntLinearAdditive;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
 import net.machinemuse.powersuits.client.event.MuseIcon;
+import net.machinemuse.powersuits.event.PlayerUpdateHandler;
 import net.machinemuse.powersuits.item.ItemComponent;
 import net.machinemuse.powersuits.utils.MuseItemUtils;
 import net.machinemuse.utils.ElectricItemUtils;
@@ -55,7 +56,7 @@ public class MagnetModule extends PowerModuleBase implements IPlayerTickModule,
     @Override
     public void onPlayerTickActive(EntityPlayer player, ItemStack stack) {
         if (ElectricItemUtils.getPlayerEnergy(player) > ModuleManager.getInstance().computeModularPropertyInteger(stack, MAGNET_ENERGY_CONSUMPTION)) {
-            if ((player.world.getTotalWorldTime() % 20) == 0) {
+            if (PlayerUpdateHandler.isTickDue(player, 20)) {
                 ElectricItemUtils.drainPlayerEnergy(player, ModuleManager.getInstance().computeModularPropertyInteger(stack, MAGNET_ENERGY_CONSUMPTION));
             }
             int range = (int) ModuleManager.getInstance().computeModularPropertyDouble(stack, MAGNET_RADIUS);
@@ -108,6 +109,11 @@ public class MagnetModule extends PowerModuleBase implements IPlayerTickModule,
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.magnet;
@@ -3,6 +3,7 @@ package net.machinemuse.powersuits.item.module.tool;
 import net.machinemuse.item.powersuits.module.PowerModuleBase;
 import net.machinemuse.numina.api.module.EnumModuleTarget;
 import net.machinemuse.numina.api.module.IRightClickModule;
+import net.machinemuse.numina.api.module.ModularProperty;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.api.nbt.PropertyModifierIntLinearAdditive;
 import net.machinemuse.numina.utils.string.MuseStringUtils;
@@ -35,6 +36,10 @@ public class OreScannerModule extends PowerModuleBase implements IRightClickModu
     public static final String ORE_SCANNER_RADIUS_Y = "Y Radius";
     public static final String ORE_SCANNER_RADIUS_Z = "Z Radius";
     private static Map<Map<ResourceLocation, Integer>, Integer> oreValuemap = new HashMap<>();
+    private static final ModularProperty[] SEARCH_PROPERTIES = {
+            ModuleManager.getInstance().getProperty(ORE_SCANNER_RADIUS_X),
+            ModuleManager.getInstance().getProperty(ORE_SCANNER_RADIUS_Y),
+            ModuleManager.getInstance().getProperty(ORE_SCANNER_RADIUS_Z)};
 
     public OreScannerModule(String resourceDommain, String UnlocalizedName) {
         super(EnumModuleTarget.TOOLONLY, resourceDommain,UnlocalizedName);
@@ -59,9 +64,11 @@ public class OreScannerModule extends PowerModuleBase implements IRightClickModu
     }
 
     public void betterSearchForValuables(ItemStack itemStack, EntityPlayer player, World world) {
-        int xRadius = (int) ModuleManager.getInstance().computeModularPropertyDouble(itemStack, ORE_SCANNER_RADIUS_X);
-        int yRadius = (int) ModuleManager.getInstance().computeModularPropertyDouble(itemStack, ORE_SCANNER_RADIUS_Y);
-        int zRadius = (int) ModuleManager.getInstance().computeModularPropertyDouble(itemStack, ORE_SCANNER_RADIUS_Z);
+        double[] radii = ModuleManager.getInstance().computeModularPropertiesDouble(itemStack, SEARCH_PROPERTIES);
+        int xRadius = (int) radii[0];
+        int yRadius = (int) radii[1];
+        int zRadius = (int) radii[2];
+        int energyPerBlock = ModuleManager.getInstance().computeModularPropertyInteger(itemStack, ORE_SCANNER_ENERGY_CONSUMPTION);
 
         BlockPos pos =  player.getPosition();
 
@@ -79,8 +86,8 @@ public class OreScannerModule extends PowerModuleBase implements IRightClickModu
                     IBlockState state = world.getBlockState(newpos);
                     value = getValue(state);
                     totalValue += value;
-                    ElectricItemUtils.drainPlayerEnergy(player, ModuleManager.getInstance().computeModularPropertyInteger(itemStack, ORE_SCANNER_ENERGY_CONSUMPTION));
-                    totalEnergy += ModuleManager.getInstance().computeModularPropertyInteger(itemStack, ORE_SCANNER_ENERGY_CONSUMPTION);
+                    ElectricItemUtils.drainPlayerEnergy(player, energyPerBlock);
+                    totalEnergy += energyPerBlock;
                     if (value > highestValue) {
                         highestValue = value;
                         Block block = state.getBlock();
@@ -109,9 +116,9 @@ public class OreScannerModule extends PowerModuleBase implements IRightClickModu
 //                            " --- Energy used: " + MuseStringUtils.formatNumberFromUnits(totalEnergy, "J")));
 
                     player.sendMessage(new TextComponentString("[Ore Scanner] Total ore value: " + totalValue + " --- Most valuable: " + highestvalueblockname + "\nSearch radius: " +
-                            (2 * (int) ModuleManager.getInstance().computeModularPropertyDouble(itemStack, ORE_SCANNER_RADIUS_X) + 1) + "x" +
-                            (2 * (int) ModuleManager.getInstance().computeModularPropertyDouble(itemStack, ORE_SCANNER_RADIUS_Y) + 1) + "x" +
-                            (2 * (int) ModuleManager.getInstance().computeModularPropertyDouble(itemStack, ORE_SCANNER_RADIUS_Z) + 1) +
+                            (2 * xRadius + 1) + "x" +
+                            (2 * yRadius + 1) + "x" +
+                            (2 * zRadius + 1) +
                             " --- Energy used: " + MuseStringUtils.formatNumberFromUnits(totalEnergy, "J")));
                 } else {
 //                    player.addChatMessage(new TextComponentString("[Ore Scanner] Total ore value: " + totalValue + " --- Most valuable: " + highestValue));
@@ -5,6 +5,7 @@ import net.machinemuse.item.powersuits.module.PowerModuleBase;
 import net.machinemuse.numina.api.module.EnumModuleTarget;
 import net.machinemuse.numina.api.module.IRightClickModule;
 import net.machinemuse.numina.api.module.ModuleManager;
+import net.machinemuse.numina.utils.MuseLogger;
 import net.machinemuse.numina.utils.heat.MuseHeatUtils;
 import net.machinemuse.numina.utils.misc.RayTraceUtils;
 import net.machinemuse.powersuits.api.constants.MPSModuleConstants;
@@ -24,6 +25,7 @@ import net.minecraft.util.EnumHand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.world.World;
+import org.apache.logging.log4j.Level;
 
 /**
  * Created by User: Andrew2448
@@ -49,19 +51,18 @@ public class LightningModule extends PowerModuleBase implements IRightClickModul
 
     @Override
     public ActionResult onItemRightClick(ItemStack itemStackIn, World worldIn, EntityPlayer playerIn, EnumHand hand) {
-        System.out.println("player energy before: " + ElectricItemUtils.getPlayerEnergy(playerIn));
+        MuseLogger.trace(MuseLogger.Category.ENERGY, Level.DEBUG, () -> "player energy before: " + ElectricItemUtils.getPlayerEnergy(playerIn));
 
         if (hand == EnumHand.MAIN_HAND) {
             try {
                 double range = 64;
                 int energyConsumption = ModuleManager.getInstance().computeModularPropertyInteger(itemStackIn, LIGHTNING_ENERGY_CONSUMPTION);
 
-                System.out.println("energy usage: " + energyConsumption);
+                MuseLogger.trace(MuseLogger.Category.ENERGY, Level.DEBUG, () -> "energy usage: " + energyConsumption);
 
                 if (energyConsumption < ElectricItemUtils.getPlayerEnergy(playerIn)) {
-                    System.out.println("drained energy: " + ElectricItemUtils.drainPlayerEnergy(playerIn, energyConsumption));
-
-                    System.out.println("player energy after: " + ElectricItemUtils.getPlayerEnergy(playerIn));
+                    int drained = ElectricItemUtils.drainPlayerEnergy(playerIn, energyConsumption);
+                    MuseLogger.trace(MuseLogger.Category.ENERGY, Level.DEBUG, () -> "drained energy: " + drained + ", player energy after: " + ElectricItemUtils.getPlayerEnergy(playerIn));
 
 
                     MuseHeatUtils.heatPlayerLegacy(playerIn, ModuleManager.getInstance().computeModularPropertyDouble(itemStackIn, HEAT));
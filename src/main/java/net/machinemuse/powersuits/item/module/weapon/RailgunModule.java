@@ -4,6 +4,7 @@ import net.machinemuse.item.powersuits.module.PowerModuleBase;
 import net.machinemuse.numina.api.module.EnumModuleTarget;
 import net.machinemuse.numina.api.module.IPlayerTickModule;
 import net.machinemuse.numina.api.module.IRightClickModule;
+import net.machinemuse.numina.api.module.ModularProperty;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.utils.heat.MuseHeatUtils;
 import net.machinemuse.numina.utils.misc.RayTraceUtils;
@@ -28,6 +29,9 @@ public class RailgunModule extends PowerModuleBase implements IRightClickModule,
     public static final String ENERGY = "Railgun Energy Cost";
     public static final String HEAT = "Railgun Heat Emission";
     public static final String TIMER = "cooldown";
+    private static final ModularProperty[] SHOT_PROPERTIES = {
+            ModuleManager.getInstance().getProperty(HEAT),
+            ModuleManager.getInstance().getProperty(IMPULSE)};
 
     public RailgunModule(String resourceDommain, String UnlocalizedName) {
         super(EnumModuleTarget.TOOLONLY, resourceDommain, UnlocalizedName);
@@ -86,11 +90,12 @@ public class RailgunModule extends PowerModuleBase implements IRightClickModule,
             if (ElectricItemUtils.getPlayerEnergy(playerIn) > energyConsumption && timer == 0) {
                 ElectricItemUtils.drainPlayerEnergy(playerIn, energyConsumption);
                 MuseItemUtils.setDoubleOrRemove(itemStackIn, TIMER, 10);
-                MuseHeatUtils.heatPlayerLegacy(playerIn, ModuleManager.getInstance().computeModularPropertyDouble(itemStackIn, HEAT));
+                double[] shot = ModuleManager.getInstance().computeModularPropertiesDouble(itemStackIn, SHOT_PROPERTIES);
+                MuseHeatUtils.heatPlayerLegacy(playerIn, shot[0]);
                 RayTraceResult hitMOP = RayTraceUtils.doCustomRayTrace(playerIn.world, playerIn, true, range);
                 // TODO: actual railgun sound
                 worldIn.playSound(playerIn, playerIn.getPosition(), SoundEvents.ENTITY_ARROW_SHOOT, SoundCategory.PLAYERS, 0.5F, 0.4F / ((float) Math.random() * 0.4F + 0.8F));
-                double damage = ModuleManager.getInstance().computeModularPropertyDouble(itemStackIn, IMPULSE) / 100.0;
+                double damage = shot[1] / 100.0;
                 double knockback = damage / 20.0;
                 Vec3d lookVec = playerIn.getLookVec();
                 if (hitMOP != null) {
@@ -145,6 +150,11 @@ public class RailgunModule extends PowerModuleBase implements IRightClickModule,
     public void onPlayerTickInactive(EntityPlayer player, ItemStack item) {
     }
 
+    @Override
+    public boolean hasInactiveTick() {
+        return false;
+    }
+
     @Override
     public TextureAtlasSprite getIcon(ItemStack item) {
         return MuseIcon.railgun;
@@ -11,6 +11,7 @@ import net.machinemuse.numina.api.item.IMuseItem;
 import net.machinemuse.numina.api.module.IBlockBreakingModule;
 import net.machinemuse.numina.api.module.IModule;
 import net.machinemuse.numina.api.module.IRightClickModule;
+import net.machinemuse.numina.api.module.ModularPropertyCache;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.item.IModeChangingItem;
 import net.machinemuse.numina.network.MusePacketModeChangeRequest;
@@ -437,6 +438,8 @@ public class ItemPowerFist extends MPSItemElectricTool
     @Override
     public void setActiveMode(ItemStack stack, String newMode) {
         NuminaItemUtils.getTagCompound(stack).setString("mode", newMode);
+        // the active mode decides which right click module counts as active
+        ModularPropertyCache.invalidate(stack);
     }
 
     @Override
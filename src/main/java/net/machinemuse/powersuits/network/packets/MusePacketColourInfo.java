@@ -35,7 +35,7 @@ public class MusePacketColourInfo extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(itemSlot);
+        writeSignedVarInt(itemSlot);
         writeIntArray(tagData);
     }
 
@@ -58,7 +58,7 @@ public class MusePacketColourInfo extends MusePacket {
     public static class MusePacketColourInfoPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int itemSlot = readInt(datain);
+            int itemSlot = readSignedVarInt(datain);
             int[] tagData = readIntArray(datain);
             return new MusePacketColourInfo(player, itemSlot, tagData);
         }
@@ -38,7 +38,7 @@ public class MusePacketCosmeticInfo extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(itemSlot);
+        writeSignedVarInt(itemSlot);
         writeString(tagName);
         writeNBTTagCompound(tagData);
     }
@@ -75,7 +75,7 @@ public class MusePacketCosmeticInfo extends MusePacket {
     public static class MusePacketCosmeticInfoPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int itemSlot = readInt(datain);
+            int itemSlot = readSignedVarInt(datain);
             String tagName = readString(datain);
             NBTTagCompound tagData = readNBTTagCompound(datain);
             return new MusePacketCosmeticInfo(player, itemSlot, tagName, tagData);
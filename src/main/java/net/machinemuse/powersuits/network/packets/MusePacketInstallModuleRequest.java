@@ -14,8 +14,9 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.text.TextComponentString;
 
 import java.io.DataInputStream;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Packet for requesting to purchase an upgrade. Player-to-server. Server decides whether it is a valid upgrade or not and replies with an associated
@@ -44,7 +45,7 @@ public class MusePacketInstallModuleRequest extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(itemSlot);
+        writeSignedVarInt(itemSlot);
         writeString(moduleName);
     }
 
@@ -60,18 +61,24 @@ public class MusePacketInstallModuleRequest extends MusePacket {
             }
             List<ItemStack> cost = moduleType.getInstallCost();
             if ((!ModuleManager.getInstance().itemHasModule(stack, moduleName) && MuseItemUtils.hasInInventory(cost, player.inventory)) || player.capabilities.isCreativeMode) {
+                // one module tag write (and cache invalidation) for the whole request
                 ModuleManager.getInstance().itemAddModule(stack, moduleType);
+                // the energy in the cost is handed over in one charge instead of one per cost item
+                int energyInCost = 0;
                 for (ItemStack stackInCost : cost) {
-                    ElectricItemUtils.givePlayerEnergy(player, ElectricItemUtils.jouleValueOfComponent(stackInCost));
+                    energyInCost += ElectricItemUtils.jouleValueOfComponent(stackInCost);
                 }
-                List<Integer> slotsToUpdate = new ArrayList<>();
+                if (energyInCost > 0)
+                    ElectricItemUtils.givePlayerEnergy(player, energyInCost);
+                // a slot that paid for several cost items is only refreshed once
+                Set<Integer> slotsToUpdate = new LinkedHashSet<>();
                 if (!player.capabilities.isCreativeMode) {
-                    slotsToUpdate = MuseItemUtils.deleteFromInventory(cost, inventory);
+                    slotsToUpdate.addAll(MuseItemUtils.deleteFromInventory(cost, inventory));
                 }
                 slotsToUpdate.add(itemSlot);
                 for (Integer slotiter : slotsToUpdate) {
                     MusePacket reply = new MusePacketInventoryRefresh(player, slotiter, inventory.getStackInSlot(slotiter));
-                    PacketSender.sendTo(reply, player);
+                    PacketSender.queueTo(reply, player);
                 }
             }
         }
@@ -87,7 +94,7 @@ public class MusePacketInstallModuleRequest extends MusePacket {
     public static class MusePacketInstallModuleRequestPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int itemSlot = readInt(datain);
+            int itemSlot = readSignedVarInt(datain);
             String moduleName = readString(datain);
             return new MusePacketInstallModuleRequest(player, itemSlot, moduleName);
         }
@@ -36,7 +36,7 @@ public class MusePacketInventoryRefresh extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(slot);
+        writeSignedVarInt(slot);
         writeItemStack(stack);
     }
 
@@ -58,7 +58,7 @@ public class MusePacketInventoryRefresh extends MusePacket {
     public static class MusePacketInventoryRefreshPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int itemSlot = readInt(datain);
+            int itemSlot = readSignedVarInt(datain);
             ItemStack stack = readItemStack(datain);
             return new MusePacketInventoryRefresh(player, itemSlot, stack);
         }
@@ -17,10 +17,16 @@ import java.io.DataInputStream;
  */
 public class MusePacketPlayerUpdate extends MusePacket {
     EntityPlayer player;
+    String username;
     PlayerInputMap inputMap;
 
     public MusePacketPlayerUpdate(EntityPlayer player, PlayerInputMap inputMap) {
+        this(player, player.getCommandSenderEntity().getName(), inputMap);
+    }
+
+    private MusePacketPlayerUpdate(EntityPlayer player, String username, PlayerInputMap inputMap) {
         this.player = player;
+        this.username = username;
         this.inputMap = inputMap;
     }
 
@@ -31,12 +37,13 @@ public class MusePacketPlayerUpdate extends MusePacket {
 
     @Override
     public void write() {
-        writeString(player.getCommandSenderEntity().getName());
-        inputMap.writeToStream(dataout());
+        writeString(username);
+        inputMap.writeToBuffer(packetBuffer());
     }
 
     @Override
     public void handleServer(EntityPlayerMP player) {
+        PlayerInputMap.getInputMapFor(username).setTo(inputMap);
         MusePacketPlayerUpdate updatePacket = new MusePacketPlayerUpdate(player, inputMap);
         player.motionX = inputMap.motionX;
         player.motionY = inputMap.motionY;
@@ -44,6 +51,11 @@ public class MusePacketPlayerUpdate extends MusePacket {
         PacketSender.sendToAllAround(updatePacket, player, 128);
     }
 
+    @Override
+    public void handleClient(EntityPlayer player) {
+        PlayerInputMap.getInputMapFor(username).setTo(inputMap);
+    }
+
     private static MusePacketPlayerUpdatePackager PACKAGERINSTANCE;
     public static MusePacketPlayerUpdatePackager getPackagerInstance() {
         if (PACKAGERINSTANCE == null)
@@ -55,9 +67,10 @@ public class MusePacketPlayerUpdate extends MusePacket {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
             String username = readString(datain);
-            PlayerInputMap inputMap = PlayerInputMap.getInputMapFor(username);
+            // read into a map of its own, the shared one is only updated on the main thread
+            PlayerInputMap inputMap = new PlayerInputMap();
             inputMap.readFromStream(datain);
-            return new MusePacketPlayerUpdate(player, inputMap);
+            return new MusePacketPlayerUpdate(player, username, inputMap);
         }
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package net.machinemuse.powersuits.network.packets;
 
 import net.machinemuse.item.powersuits.module.PowerModuleBase;
 import net.machinemuse.numina.api.module.IModule;
+import net.machinemuse.numina.api.module.ModularPropertyCache;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.api.nbt.IPropertyModifier;
 import net.machinemuse.numina.api.nbt.PropertyModifierFlatAdditiveDouble;
@@ -13,6 +14,8 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.io.DataInputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -24,11 +27,28 @@ import java.util.Map;
  */
 public class MusePacketPropertyModifierConfig extends MusePacket {
     EntityPlayer player;
-    DataInputStream data;
+    // the server's config as read off the network, applied by handleClient
+    List<ModuleConfig> moduleConfigs;
 
-    public MusePacketPropertyModifierConfig(EntityPlayer player, DataInputStream data) {
-        this.player= player;
-        this.data = data;
+    public MusePacketPropertyModifierConfig(EntityPlayer player) {
+        this.player = player;
+    }
+
+    private MusePacketPropertyModifierConfig(EntityPlayer player, List<ModuleConfig> moduleConfigs) {
+        this.player = player;
+        this.moduleConfigs = moduleConfigs;
+    }
+
+    private static final class ModuleConfig {
+        final String moduleName;
+        final boolean allowed;
+        // property name -> modifier values, in the module's modifier order
+        final Map<String, double[]> modifierValues = new LinkedHashMap<>();
+
+        ModuleConfig(String moduleName, boolean allowed) {
+            this.moduleName = moduleName;
+            this.allowed = allowed;
+        }
     }
 
     @Override
@@ -38,15 +58,15 @@ public class MusePacketPropertyModifierConfig extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(ModuleManager.getInstance().getAllModules().size());
+        writeVarInt(ModuleManager.getInstance().getAllModules().size());
         for (IModule module : ModuleManager.getInstance().getAllModules()) {
             writeString(module.getUnlocalizedName());
             writeBoolean(module.isAllowed());
-            writeInt(module.getPropertyModifiers().size());
+            writeVarInt(module.getPropertyModifiers().size());
             for (Map.Entry<String, List<IPropertyModifier>> entry: module.getPropertyModifiers().entrySet()) {
                 writeString(entry.getKey()); // propertyName
                 List<IPropertyModifier> propmodlist = entry.getValue();
-                writeInt(propmodlist.size());
+                writeVarInt(propmodlist.size());
                 for (IPropertyModifier propmod : propmodlist) {
                     if (propmod instanceof PropertyModifierFlatAdditiveDouble)
                         writeDouble(((PropertyModifierFlatAdditiveDouble) propmod).valueAdded);
@@ -66,29 +86,29 @@ public class MusePacketPropertyModifierConfig extends MusePacket {
     @SideOnly(Side.CLIENT)
     @Override
     public void handleClient(EntityPlayer player) {
-        MusePackager d = MusePacketPropertyModifierConfigPackager.getInstance();
-        int numModules = d.readInt(data);
-        for (int i = 0; i < numModules; i++) {
-            String moduleName = d.readString(data);
-            boolean allowed = d.readBoolean(data);
-            IModule module = ModuleManager.getInstance().getModule(moduleName);
+        for (ModuleConfig config : moduleConfigs) {
+            IModule module = ModuleManager.getInstance().getModule(config.moduleName);
+            if (module == null)
+                continue;
             if (module instanceof PowerModuleBase)
-                ((PowerModuleBase) module).setIsAllowed(allowed);
-            int numProps = d.readInt(data);
-            for (int j = 0; j < numProps; j++ ) {
-                String propName = d.readString(data);
-                int numModifiers = d.readInt(data);
-                List<IPropertyModifier> proplist = module.getPropertyModifiers().get(propName);
-                for (int m = 0; m < numModifiers; m++) {
+                ((PowerModuleBase) module).setIsAllowed(config.allowed);
+            for (Map.Entry<String, double[]> entry : config.modifierValues.entrySet()) {
+                List<IPropertyModifier> proplist = module.getPropertyModifiers().get(entry.getKey());
+                if (proplist == null)
+                    continue;
+                double[] values = entry.getValue();
+                for (int m = 0; m < values.length && m < proplist.size(); m++) {
                     IPropertyModifier propMod = proplist.get(m);
                     if (propMod instanceof PropertyModifierFlatAdditiveDouble)
-                        ((PropertyModifierFlatAdditiveDouble) propMod).valueAdded = d.readDouble(data);
+                        ((PropertyModifierFlatAdditiveDouble) propMod).valueAdded = values[m];
                     else if (propMod instanceof PropertyModifierLinearAdditiveDouble)
-                        ((PropertyModifierLinearAdditiveDouble) propMod).multiplier = d.readDouble(data);
-                    else d.readDouble(data);
+                        ((PropertyModifierLinearAdditiveDouble) propMod).multiplier = values[m];
                 }
             }
+            if (module instanceof PowerModuleBase)
+                ((PowerModuleBase) module).compilePropertyModifiers();
         }
+        ModularPropertyCache.invalidateAll();
     }
 
     private static MusePacketPropertyModifierConfigPackager PACKAGERINSTANCE;
@@ -101,7 +121,21 @@ public class MusePacketPropertyModifierConfig extends MusePacket {
     public static class MusePacketPropertyModifierConfigPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            return new MusePacketPropertyModifierConfig(player, datain);
+            int numModules = readVarInt(datain);
+            List<ModuleConfig> moduleConfigs = new ArrayList<>(numModules);
+            for (int i = 0; i < numModules; i++) {
+                ModuleConfig config = new ModuleConfig(readString(datain), readBoolean(datain));
+                int numProps = readVarInt(datain);
+                for (int j = 0; j < numProps; j++) {
+                    String propName = readString(datain);
+                    double[] values = new double[readVarInt(datain)];
+                    for (int m = 0; m < values.length; m++)
+                        values[m] = readDouble(datain);
+                    config.modifierValues.put(propName, values);
+                }
+                moduleConfigs.add(config);
+            }
+            return new MusePacketPropertyModifierConfig(player, moduleConfigs);
         }
     }
 }
\ No newline at end of file
@@ -45,7 +45,7 @@ public class MusePacketSalvageModuleRequest extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(itemSlot);
+        writeSignedVarInt(itemSlot);
         writeString(moduleName);
     }
 
@@ -66,7 +66,7 @@ public class MusePacketSalvageModuleRequest extends MusePacket {
 
                 for (Integer slotiter : slots) {
                     MusePacket reply = new MusePacketInventoryRefresh(player, slotiter, inventory.getStackInSlot(slotiter));
-                    PacketSender.sendTo(reply, player);
+                    PacketSender.queueTo(reply, player);
                 }
             }
         }
@@ -82,7 +82,7 @@ public class MusePacketSalvageModuleRequest extends MusePacket {
     public static class MusePacketSalvageModuleRequestPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int itemSlot = readInt(datain);
+            int itemSlot = readSignedVarInt(datain);
             String moduleName = readString(datain);
             return new MusePacketSalvageModuleRequest(player, itemSlot, moduleName);
         }
@@ -1,5 +1,6 @@
 package net.machinemuse.powersuits.network.packets;
 
+import net.machinemuse.numina.api.module.ModularPropertyCache;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.math.MuseMathUtils;
 import net.machinemuse.numina.network.MusePackager;
@@ -44,7 +45,7 @@ public class MusePacketTweakRequestDouble extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(this.itemSlot);
+        writeSignedVarInt(this.itemSlot);
         writeString(this.moduleName);
         writeString(this.tweakName);
         writeDouble(this.tweakValue);
@@ -57,7 +58,8 @@ public class MusePacketTweakRequestDouble extends MusePacket {
             NBTTagCompound itemTag = MuseItemUtils.getMuseItemTag(stack);
             if (itemTag != null && ModuleManager.getInstance().tagHasModule(itemTag, moduleName)) {
                 NBTTagCompound moduleTag = itemTag.getCompoundTag(moduleName);
-                moduleTag.setDouble(tweakName, MuseMathUtils.clampDouble(tweakValue, 0, 1));
+                MuseItemUtils.setModuleDouble(moduleTag, tweakName, MuseMathUtils.clampDouble(tweakValue, 0, 1));
+                ModularPropertyCache.invalidate(itemTag);
             }
         }
     }
@@ -72,7 +74,7 @@ public class MusePacketTweakRequestDouble extends MusePacket {
     public static class MusePacketTweakRequestPackagerDouble extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int itemSlot = readInt(datain);
+            int itemSlot = readSignedVarInt(datain);
             String moduleName = readString(datain);
             String tweakName = readString(datain);
             double tweakValue = readDouble(datain);
@@ -1,5 +1,6 @@
 package net.machinemuse.powersuits.network.packets;
 
+import net.machinemuse.numina.api.module.ModularPropertyCache;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.network.MusePackager;
 import net.machinemuse.numina.network.MusePacket;
@@ -43,10 +44,10 @@ public class MusePacketTweakRequestInteger extends MusePacket {
 
     @Override
     public void write() {
-        writeInt(this.itemSlot);
+        writeSignedVarInt(this.itemSlot);
         writeString(this.moduleName);
         writeString(this.tweakName);
-        writeInt(this.tweakValue);
+        writeSignedVarInt(this.tweakValue);
     }
 
     @Override
@@ -56,7 +57,8 @@ public class MusePacketTweakRequestInteger extends MusePacket {
             NBTTagCompound itemTag = MuseItemUtils.getMuseItemTag(stack);
             if (itemTag != null && ModuleManager.getInstance().tagHasModule(itemTag, moduleName)) {
                 NBTTagCompound moduleTag = itemTag.getCompoundTag(moduleName);
-                moduleTag.setInteger(tweakName, tweakValue);
+                MuseItemUtils.setModuleInteger(moduleTag, tweakName, tweakValue);
+                ModularPropertyCache.invalidate(itemTag);
             }
         }
     }
@@ -71,10 +73,10 @@ public class MusePacketTweakRequestInteger extends MusePacket {
     public static class MusePacketTweakRequestIntegerPackager extends MusePackager {
         @Override
         public MusePacket read(DataInputStream datain, EntityPlayer player) {
-            int itemSlot = readInt(datain);
+            int itemSlot = readSignedVarInt(datain);
             String moduleName = readString(datain);
             String tweakName = readString(datain);
-            int tweakValue = readInt(datain);
+            int tweakValue = readSignedVarInt(datain);
             return new MusePacketTweakRequestInteger(player, itemSlot, moduleName, tweakName, tweakValue);
         }
     }
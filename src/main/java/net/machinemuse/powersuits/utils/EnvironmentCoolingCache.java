@@ -0,0 +1,67 @@
+package net.machinemuse.powersuits.utils;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2DoubleMap;
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+
+import java.util.Map;
+
+/**
+ * The part of the suit cooling that only depends on where the player is (biome temperature, desert nights, rain),
+ * cached per world by chunk column and 16 block height band.
+ *
+ * Weather and daytime aren't part of the key: each world remembers the state its entries were computed under and
+ * drops them all when it starts or stops raining or day turns to night (and back). A world is only ever ticked by one
+ * thread, so the per world tables aren't synchronized.
+ */
+public final class EnvironmentCoolingCache {
+    private static final int MAX_ENTRIES = 4096;
+    private static final Map<World, EnvironmentCoolingCache> worlds = new MapMaker().weakKeys().makeMap();
+
+    private final Long2DoubleMap cooling = new Long2DoubleOpenHashMap();
+    private boolean raining;
+    private boolean daytime;
+
+    private EnvironmentCoolingCache(World world) {
+        cooling.defaultReturnValue(Double.NaN);
+        raining = world.isRaining();
+        daytime = world.isDaytime();
+    }
+
+    public static double getCooling(EntityPlayer player) {
+        World world = player.world;
+        EnvironmentCoolingCache cache = worlds.get(world);
+        if (cache == null) {
+            cache = new EnvironmentCoolingCache(world);
+            worlds.put(world, cache);
+        }
+        return cache.lookup(player);
+    }
+
+    private double lookup(EntityPlayer player) {
+        World world = player.world;
+        boolean nowRaining = world.isRaining();
+        boolean nowDaytime = world.isDaytime();
+        if (nowRaining != raining || nowDaytime != daytime || cooling.size() >= MAX_ENTRIES) {
+            cooling.clear();
+            raining = nowRaining;
+            daytime = nowDaytime;
+        }
+
+        long key = key(MathHelper.floor(player.posX) >> 4, MathHelper.floor(player.posZ) >> 4, MathHelper.floor(player.posY) >> 4);
+        double value = cooling.get(key);
+        if (Double.isNaN(value)) {
+            value = MusePlayerUtils.computeEnvironmentCooling(player);
+            cooling.put(key, value);
+        }
+        return value;
+    }
+
+    private static long key(int chunkX, int chunkZ, int yBand) {
+        // chunk coordinates stay within 22 bits inside the world border
+        return ((long) (chunkX & 0x3FFFFF) << 42) | ((long) (chunkZ & 0x3FFFFF) << 20) | (yBand & 0xFFFFF);
+    }
+}
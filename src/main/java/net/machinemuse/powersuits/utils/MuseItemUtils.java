@@ -1,12 +1,15 @@
 package net.machinemuse.powersuits.utils;
 
+import net.machinemuse.numina.api.capability_ports.itemwrapper.ModularItemWrapper;
 import net.machinemuse.numina.api.constants.NuminaNBTConstants;
 import net.machinemuse.numina.api.energy.adapater.ElectricAdapter;
 import net.machinemuse.numina.api.item.IMuseItem;
 import net.machinemuse.numina.api.module.IModule;
 import net.machinemuse.numina.api.module.ModuleManager;
 import net.machinemuse.numina.math.MuseMathUtils;
+import net.machinemuse.numina.player.SuitState;
 import net.machinemuse.numina.utils.MuseLogger;
+import net.machinemuse.numina.utils.item.NuminaItemUtils;
 import net.machinemuse.numina.utils.string.MuseStringUtils;
 import net.machinemuse.powersuits.api.constants.MPSNBTConstants;
 import net.machinemuse.powersuits.client.render.modelspec.DefaultModelSpec;
@@ -91,6 +94,8 @@ public class MuseItemUtils {
      *         IMuseItem
      */
     public static List<ItemStack> getModularItemsInInventory(IInventory inv) {
+        if (inv instanceof InventoryPlayer)
+            return getModularItemsInInventory(((InventoryPlayer) inv).player);
         ArrayList<ItemStack> stacks = new ArrayList<>();
 
         for (int i = 0; i < inv.getSizeInventory(); i++) {
@@ -103,18 +108,11 @@ public class MuseItemUtils {
     }
 
     public static List<ItemStack> getModularItemsInInventory(EntityPlayer player) {
-        return getModularItemsInInventory(player.inventory);
+        return NuminaItemUtils.getStacksInSlots(player, SuitState.get(player).getInventoryIndex(player).getModularSlots());
     }
 
     public static List<ItemStack> getModularItemsEquipped(EntityPlayer player) {
-        ArrayList<ItemStack> stacks = new ArrayList<>();
-        for(EntityEquipmentSlot slot : EntityEquipmentSlot.values()) {
-            ItemStack stack = player.getItemStackFromSlot(slot);
-            if (!stack.isEmpty() && stack.getItem() instanceof IMuseItem) {
-                stacks.add(stack);
-            }
-        }
-        return stacks;
+        return modularItemsEquipped(player);
     }
 
     /**
@@ -125,6 +123,13 @@ public class MuseItemUtils {
      */
     public static List<Integer> getModularItemSlotsInInventory(IInventory inv) {
         ArrayList<Integer> slots = new ArrayList<>();
+        if (inv instanceof InventoryPlayer) {
+            EntityPlayer player = ((InventoryPlayer) inv).player;
+            BitSet modularSlots = SuitState.get(player).getInventoryIndex(player).getModularSlots();
+            for (int slot = modularSlots.nextSetBit(0); slot >= 0; slot = modularSlots.nextSetBit(slot + 1))
+                slots.add(slot);
+            return slots;
+        }
 
         for (int i = 0; i < inv.getSizeInventory(); i++) {
             ItemStack stack = inv.getStackInSlot(i);
@@ -248,11 +253,24 @@ public class MuseItemUtils {
 
     public static double getOrSetModuleProperty(NBTTagCompound moduleTag, String propertyName, double defaultValue) {
         if (!moduleTag.hasKey(propertyName)) {
-            moduleTag.setDouble(propertyName, defaultValue);
+            setModuleDouble(moduleTag, propertyName, defaultValue);
         }
         return moduleTag.getDouble(propertyName);
     }
 
+    /**
+     * Sets a value in a module's tag.
+     */
+    public static void setModuleDouble(NBTTagCompound moduleTag, String propertyName, double value) {
+        moduleTag.setDouble(propertyName, value);
+        ModularItemWrapper.markModulesChanged();
+    }
+
+    public static void setModuleInteger(NBTTagCompound moduleTag, String propertyName, int value) {
+        moduleTag.setInteger(propertyName, value);
+        ModularItemWrapper.markModulesChanged();
+    }
+
 
     public static List<String> getItemInstalledModules(EntityPlayer player, ItemStack stack) {
         NBTTagCompound itemTag = MuseItemUtils.getMuseItemTag(stack);
@@ -407,16 +425,11 @@ public class MuseItemUtils {
         setStringOrNull(getMuseItemTag(stack), key, value);
     }
 
+    /**
+     * Equipped modular items, in equipment slot order. Cached in the player's {@link SuitState}, don't modify.
+     */
     public static List<ItemStack> modularItemsEquipped(EntityPlayer player) {
-        List<ItemStack> modulars = new ArrayList<>();
-        for (EntityEquipmentSlot slot :EntityEquipmentSlot.values()) {
-            ItemStack stack = player.getItemStackFromSlot(slot);
-
-            if (!stack.isEmpty() && stack.getItem() instanceof IMuseItem) {
-                modulars.add(stack);
-            }
-        }
-        return modulars;
+        return SuitState.get(player).getModularItems();
     }
 
     public static boolean canStackTogether(ItemStack stack1, ItemStack stack2) {
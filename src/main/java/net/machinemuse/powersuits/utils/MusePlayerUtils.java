@@ -162,19 +162,24 @@ public class MusePlayerUtils {
         if (player.isInLava())
             return 0;
 
-        Biome biome = getBiome(player);
-
-//        System.out.println("biome temperature: " + biome.getTemperature(new BlockPos((int)player.posX, (int)player.posY, (int)player.posZ)));
-
-
-
-        double cool = ((2.0 - biome.getTemperature(new BlockPos((int)player.posX, (int)player.posY, (int)player.posZ))/2)); // Algorithm that returns a value from 0.0 -> 1.0. Biome temperature is from 0.0 -> 2.0
+        double cool = EnvironmentCoolingCache.getCooling(player);
         if (player.isInWater())
             cool += 0.5;
 
         // If high in the air, increase cooling
         if ((int)player.posY > 128)
             cool += 0.5;
+        return cool;
+    }
+
+    /**
+     * Cooling from the biome, the time of day and the weather at the player's position. Called through
+     * {@link EnvironmentCoolingCache}, which only recomputes it when the player enters another chunk or height band.
+     */
+    static double computeEnvironmentCooling(EntityPlayer player) {
+        Biome biome = getBiome(player);
+
+        double cool = ((2.0 - biome.getTemperature(new BlockPos((int)player.posX, (int)player.posY, (int)player.posZ))/2)); // Algorithm that returns a value from 0.0 -> 1.0. Biome temperature is from 0.0 -> 2.0
 
         if (!player.world.isDaytime() && "Desert".equals(biome.getBiomeName())) { // If nighttime and in the desert, increase cooling
             cool += 0.8;
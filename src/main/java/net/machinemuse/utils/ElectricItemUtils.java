@@ -2,13 +2,14 @@ package net.machinemuse.utils;
 
 import net.machinemuse.numina.api.energy.adapater.ElectricAdapter;
 import net.machinemuse.numina.common.config.NuminaConfig;
+import net.machinemuse.numina.player.SuitState;
 import net.machinemuse.powersuits.item.ItemComponent;
 import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 /**
@@ -19,8 +20,9 @@ public class ElectricItemUtils {
     public static final String CURRENT_ENERGY = "Current Energy";
 
     public static List<ElectricAdapter> electricItemsEquipped(EntityPlayer player) {
-        List<ElectricAdapter> electrics = new ArrayList<>();
-        for (int i  = 0; i < player.inventory.getSizeInventory(); i++) {
+        BitSet energySlots = SuitState.get(player).getInventoryIndex(player).getEnergySlots();
+        List<ElectricAdapter> electrics = new ArrayList<>(energySlots.cardinality());
+        for (int i = energySlots.nextSetBit(0); i >= 0; i = energySlots.nextSetBit(i + 1)) {
             ElectricAdapter adapter  = ElectricAdapter.wrap(player.inventory.getStackInSlot(i));
             if (adapter != null) {
                 electrics.add(0, adapter);
@@ -30,27 +32,66 @@ public class ElectricItemUtils {
     }
 
     /**
-     * Equipped ItemStacks with the Energy capability
+     * Equipped ItemStacks with the Energy capability. Cached in the player's {@link SuitState}, don't modify.
      */
     public static List<ElectricAdapter> getElectricItemsEquipped(EntityPlayer player) {
-        List<ElectricAdapter> electrics = new ArrayList<>();
-        for (EntityEquipmentSlot slot : EntityEquipmentSlot.values()) {
-            ElectricAdapter adapter  = ElectricAdapter.wrap(player.getItemStackFromSlot(slot));
-            if (adapter != null) {
-                electrics.add(0, adapter);
-            }
-        }
-        return electrics;
+        return SuitState.get(player).getElectricItems();
     }
 
     /**
-     * Sum of all the energy of the equipped items
+     * Sum of all the energy of the equipped items. During the player tick this is what the ledger can still spend.
      */
     public static int getPlayerEnergy(EntityPlayer player) {
-        int avail = 0;
-        for (ElectricAdapter adapter : getElectricItemsEquipped(player))
-            avail += adapter.getEnergyStored();
-        return avail;
+        SuitState suitState = SuitState.get(player);
+        if (suitState.getEnergyLedger().isOpen())
+            return suitState.getEnergyLedger().getBalance();
+        return suitState.getStoredEnergy(player.world.getTotalWorldTime());
+    }
+
+    /**
+     * Whether the player has at least the given amount of energy available.
+     */
+    public static boolean canAfford(EntityPlayer player, int amount) {
+        return getPlayerEnergy(player) >= amount;
+    }
+
+    /**
+     * Starts posting the player's drains and gains to the energy ledger instead of the items.
+     */
+    public static void openEnergyLedger(EntityPlayer player) {
+        SuitState suitState = SuitState.get(player);
+        suitState.getEnergyLedger().open(suitState.getElectricItems());
+    }
+
+    /**
+     * Energy the adapters would give up right now, limited by their transfer rates.
+     */
+    public static int extractableEnergy(List<ElectricAdapter> adapters) {
+        long extractable = 0;
+        for (ElectricAdapter adapter : adapters)
+            extractable += Math.max(0, adapter.extractEnergy(adapter.getEnergyStored(), true));
+        return (int) Math.min(extractable, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Energy the adapters would take in right now, limited by their transfer rates.
+     */
+    public static int receivableEnergy(List<ElectricAdapter> adapters) {
+        long receivable = 0;
+        for (ElectricAdapter adapter : adapters)
+            receivable += Math.max(0, adapter.receiveEnergy(Math.max(0, adapter.getMaxEnergyStored() - adapter.getEnergyStored()), true));
+        return (int) Math.min(receivable, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes the net energy change of the tick to the items and stops posting to the ledger.
+     */
+    public static void commitEnergyLedger(EntityPlayer player) {
+        SuitState suitState = SuitState.get(player);
+        if (suitState.getEnergyLedger().isOpen()) {
+            if (suitState.getEnergyLedger().commit())
+                suitState.invalidateStoredEnergy();
+        }
     }
 
     /**
@@ -59,10 +100,7 @@ public class ElectricItemUtils {
      * @return Total amount of energy of items equipped.
      */
     public static int getMaxPlayerEnergy(EntityPlayer player) {
-        int max = 0;
-        for (ElectricAdapter adapter : getElectricItemsEquipped(player))
-            max += adapter.getMaxEnergyStored();
-        return max;
+        return SuitState.get(player).getMaxEnergy();
     }
 
     /**
@@ -75,13 +113,12 @@ public class ElectricItemUtils {
      * @return Amount of energy that was extracted from all of the ItemStacks.
      */
     public static int drainPlayerEnergy(EntityPlayer player, int drainAmount) {
-        int drainLeft = drainAmount;
-        for (ElectricAdapter adapter : getElectricItemsEquipped(player))
-            if (drainLeft > 0)
-                drainLeft = drainLeft - adapter.extractEnergy(drainLeft, false);
-            else
-                break;
-        return drainAmount - drainLeft;
+        SuitState suitState = SuitState.get(player);
+        if (suitState.getEnergyLedger().isOpen())
+            return suitState.getEnergyLedger().debit(drainAmount);
+        int drained = drainAdapters(suitState.getElectricItems(), drainAmount);
+        suitState.invalidateStoredEnergy();
+        return drained;
     }
 
     /**
@@ -94,13 +131,74 @@ public class ElectricItemUtils {
      * @return Amount of energy that was added to all of the ItemStacks.
      */
     public static int givePlayerEnergy(EntityPlayer player, int rfToGive) {
-        int rfleft = rfToGive;
-        for (ElectricAdapter adapter: getElectricItemsEquipped(player))
-            if (rfleft > 0) {
-                rfleft = rfleft - adapter.receiveEnergy(rfleft, false);
-            } else
+        SuitState suitState = SuitState.get(player);
+        if (suitState.getEnergyLedger().isOpen())
+            return suitState.getEnergyLedger().credit(rfToGive);
+        int given = chargeAdapters(suitState.getElectricItems(), rfToGive);
+        suitState.invalidateStoredEnergy();
+        return given;
+    }
+
+    /**
+     * Extracts energy from the adapters, either one after the other or (if configured) from all of them in proportion
+     * to the energy they hold. Returns the amount extracted.
+     */
+    public static int drainAdapters(List<ElectricAdapter> adapters, int drainAmount) {
+        if (drainAmount <= 0)
+            return 0;
+        int drainLeft = drainAmount;
+        if (NuminaConfig.useProportionalEnergyDistribution() && adapters.size() > 1) {
+            long storedLeft = 0;
+            for (ElectricAdapter adapter : adapters)
+                storedLeft += adapter.getEnergyStored();
+            // each adapter takes its share of what is still left to drain, so rounding ends up on the last one
+            for (ElectricAdapter adapter : adapters) {
+                if (drainLeft <= 0 || storedLeft <= 0)
+                    break;
+                long stored = adapter.getEnergyStored();
+                int share = (int) Math.min((drainLeft * stored + storedLeft - 1) / storedLeft, drainLeft);
+                storedLeft -= stored;
+                if (share > 0)
+                    drainLeft -= adapter.extractEnergy(share, false);
+            }
+        }
+        // greedy, or whatever the proportional pass couldn't place
+        for (ElectricAdapter adapter : adapters) {
+            if (drainLeft <= 0)
                 break;
-        return rfToGive - rfleft;
+            drainLeft -= adapter.extractEnergy(drainLeft, false);
+        }
+        return drainAmount - drainLeft;
+    }
+
+    /**
+     * Gives energy to the adapters, either one after the other or (if configured) to all of them in proportion to
+     * their free space. Returns the amount given.
+     */
+    public static int chargeAdapters(List<ElectricAdapter> adapters, int chargeAmount) {
+        if (chargeAmount <= 0)
+            return 0;
+        int chargeLeft = chargeAmount;
+        if (NuminaConfig.useProportionalEnergyDistribution() && adapters.size() > 1) {
+            long spaceLeft = 0;
+            for (ElectricAdapter adapter : adapters)
+                spaceLeft += Math.max(0, (long) adapter.getMaxEnergyStored() - adapter.getEnergyStored());
+            for (ElectricAdapter adapter : adapters) {
+                if (chargeLeft <= 0 || spaceLeft <= 0)
+                    break;
+                long space = Math.max(0, (long) adapter.getMaxEnergyStored() - adapter.getEnergyStored());
+                int share = (int) Math.min((chargeLeft * space + spaceLeft - 1) / spaceLeft, chargeLeft);
+                spaceLeft -= space;
+                if (share > 0)
+                    chargeLeft -= adapter.receiveEnergy(share, false);
+            }
+        }
+        for (ElectricAdapter adapter : adapters) {
+            if (chargeLeft <= 0)
+                break;
+            chargeLeft -= adapter.receiveEnergy(chargeLeft, false);
+        }
+        return chargeAmount - chargeLeft;
     }
 
     /**